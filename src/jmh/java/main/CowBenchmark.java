@@ -0,0 +1,95 @@
+package main;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import storage.Storage;
+import tools.TaskGenerator;
+
+/**
+ * Measures how many commands a second {@link Cow#getResponse(String)} runs against task lists of 1 thousand,
+ * 100 thousand and 1 million tasks, from parsing the input to the reply, including the locking,
+ * the command metrics and the scheduling of background saves.
+ * The task file is written to a temporary directory that is deleted afterwards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CowBenchmark {
+    private static final int COMMAND_COUNT = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private Path directory;
+    private Cow cow;
+    private String[] findCommands;
+    private String[] markCommands;
+    private int next;
+
+    /**
+     * Writes the task file, starts Cow on it and generates the commands.
+     *
+     * @throws IOException If the task file cannot be written.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("cow-bench");
+        String filePath = directory.resolve("tasks.txt").toString();
+        new Storage(filePath).saveTasksToFile(new TaskGenerator(TaskGenerator.DEFAULT_SEED).taskList(taskCount));
+        cow = new Cow(filePath);
+
+        findCommands = new String[COMMAND_COUNT];
+        markCommands = new String[COMMAND_COUNT];
+        for (int i = 0; i < COMMAND_COUNT; i++) {
+            findCommands[i] = "find " + TaskGenerator.word(i);
+            // Each task is marked and then unmarked, so the list ends each cycle as it started
+            int number = 1 + (int) ((long) (i / 2) * 7919 % taskCount);
+            markCommands[i] = (i % 2 == 0 ? "mark " : "unmark ") + number;
+        }
+    }
+
+    /**
+     * Saves and closes Cow, and deletes the temporary directory and the files in it.
+     *
+     * @throws IOException If the tasks cannot be saved or a file cannot be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        cow.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public Response getResponse_find() {
+        return cow.getResponse(findCommands[nextCommand()]);
+    }
+
+    @Benchmark
+    public Response getResponse_mark() {
+        return cow.getResponse(markCommands[nextCommand()]);
+    }
+
+    private int nextCommand() {
+        next = (next + 1) & (COMMAND_COUNT - 1);
+        return next;
+    }
+}
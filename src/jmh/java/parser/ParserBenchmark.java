@@ -0,0 +1,65 @@
+package parser;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import commands.Command;
+import task.Task;
+import tools.TaskGenerator;
+
+/**
+ * Measures how long the parser takes for one command, one stored task line and one date-time.
+ * Each benchmark cycles through a fixed set of generated inputs, so that no single input dominates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+    private static final int INPUT_COUNT = 1024;
+
+    private Parser parser;
+    private String[] commands;
+    private String[] storageLines;
+    private String[] dateTimes;
+    private int next;
+
+    /**
+     * Generates the inputs.
+     */
+    @Setup
+    public void setUp() {
+        TaskGenerator generator = new TaskGenerator(TaskGenerator.DEFAULT_SEED);
+        parser = new Parser();
+        commands = generator.commands(INPUT_COUNT, 1000);
+        storageLines = generator.storageLines(INPUT_COUNT);
+        dateTimes = generator.dateTimeInputs(INPUT_COUNT);
+    }
+
+    @Benchmark
+    public Command parseCommand() {
+        return parser.parseCommand(commands[nextInput()]);
+    }
+
+    @Benchmark
+    public Task parseTaskFromLine() {
+        return Parser.parseTaskFromLine(storageLines[nextInput()]);
+    }
+
+    @Benchmark
+    public LocalDateTime parseDateTime() {
+        return Parser.parseDateTime(dateTimes[nextInput()]);
+    }
+
+    private int nextInput() {
+        next = (next + 1) & (INPUT_COUNT - 1);
+        return next;
+    }
+}
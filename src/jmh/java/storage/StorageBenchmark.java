@@ -0,0 +1,112 @@
+package storage;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import parser.Parser;
+import task.TaskList;
+import tools.TaskGenerator;
+
+/**
+ * Measures loading and saving task files of 1 thousand, 100 thousand and 1 million tasks.
+ * Loading is measured for both the binary snapshot format and the older text format, and for the text format
+ * also as it was loaded before the memory-mapped loader, a line at a time through a {@link Scanner}.
+ * The files are written to a temporary directory that is deleted afterwards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private Path directory;
+    private String binaryPath;
+    private String textPath;
+    private Storage saveStorage;
+    private TaskList tasks;
+
+    /**
+     * Generates the task list and writes it in both formats to the files that are loaded.
+     *
+     * @throws IOException If the files cannot be written.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("cow-bench");
+        binaryPath = directory.resolve("binary.txt").toString();
+        textPath = directory.resolve("text.txt").toString();
+        saveStorage = new Storage(directory.resolve("save.txt").toString());
+
+        tasks = new TaskGenerator(TaskGenerator.DEFAULT_SEED).taskList(taskCount);
+        new Storage(binaryPath).saveTasksToFile(tasks);
+        // Same seed, so the text file holds the same tasks as the binary one
+        String[] lines = new TaskGenerator(TaskGenerator.DEFAULT_SEED).storageLines(taskCount);
+        Files.write(Path.of(textPath), Arrays.asList(lines));
+    }
+
+    /**
+     * Deletes the temporary directory and the files in it.
+     *
+     * @throws IOException If a file cannot be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public TaskList loadTasksFromFile_binary() {
+        return new Storage(binaryPath).loadTasksFromFile();
+    }
+
+    @Benchmark
+    public TaskList loadTasksFromFile_text() {
+        return new Storage(textPath).loadTasksFromFile();
+    }
+
+    /**
+     * Loads the text file a line at a time through a Scanner, parsing each line with
+     * {@link Parser#parseTaskFromLine(String)}, as a baseline for {@link #loadTasksFromFile_text()}.
+     *
+     * @return The loaded tasks.
+     * @throws IOException If the file cannot be read.
+     */
+    @Benchmark
+    public TaskList loadTasksFromFile_scanner() throws IOException {
+        TaskList loaded = new TaskList();
+        try (Scanner sc = new Scanner(new FileReader(textPath))) {
+            while (sc.hasNextLine()) {
+                loaded.addTask(Parser.parseTaskFromLine(sc.nextLine().trim()));
+            }
+        }
+        loaded.markSaved();
+        return loaded;
+    }
+
+    @Benchmark
+    public void saveTasksToFile() throws IOException {
+        saveStorage.saveTasksToFile(tasks);
+    }
+}
@@ -0,0 +1,65 @@
+package task;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import tools.TaskGenerator;
+
+/**
+ * Compares matching every task against a keyword through its cached search key with copying and
+ * lower-casing each description, as searching did before the key was cached.
+ * Run with {@code -PjmhProfilers=gc} to compare the bytes allocated by each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchKeyBenchmark {
+    private static final String KEYWORD = "ok";
+
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    private Task[] tasks;
+
+    /**
+     * Generates the tasks.
+     */
+    @Setup
+    public void setUp() {
+        TaskGenerator generator = new TaskGenerator(TaskGenerator.DEFAULT_SEED);
+        tasks = new Task[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            tasks[i] = generator.task();
+        }
+    }
+
+    @Benchmark
+    public int match_searchKey() {
+        int matches = 0;
+        for (Task task : tasks) {
+            if (task.getSearchKey().contains(KEYWORD)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int match_copiedDescription() {
+        int matches = 0;
+        for (Task task : tasks) {
+            if (new String(task.getDescription()).toLowerCase().contains(KEYWORD)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,83 @@
+package task;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import tools.TaskGenerator;
+
+/**
+ * Measures searching, listing and deleting in task lists of 1 thousand, 100 thousand and 1 million tasks,
+ * both in the default list and in a compact one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListBenchmark {
+    private static final int POSITION_COUNT = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"false", "true"})
+    private boolean isCompact;
+
+    private TaskList tasks;
+    private int[] positions;
+    private int next;
+
+    /**
+     * Generates the task list and the positions that tasks are deleted from.
+     */
+    @Setup
+    public void setUp() {
+        TaskGenerator generator = new TaskGenerator(TaskGenerator.DEFAULT_SEED);
+        tasks = generator.taskList(taskCount, isCompact);
+        positions = new int[POSITION_COUNT];
+        for (int i = 0; i < POSITION_COUNT; i++) {
+            positions[i] = (int) ((long) i * 7919 % taskCount);
+        }
+    }
+
+    @Benchmark
+    public String findTask_indexedKeyword() {
+        return tasks.findTask(TaskGenerator.word(nextPosition()));
+    }
+
+    @Benchmark
+    public String findTask_shortKeyword() {
+        return tasks.findTask("ok");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String listAllTasks() {
+        return tasks.listAllTasks();
+    }
+
+    /**
+     * Deletes a task and adds it back at the end, so the list keeps its size from one call to the next.
+     * The change log is cleared as it would be by a save, so it does not grow for the whole run.
+     */
+    @Benchmark
+    public String deleteTask() {
+        int index = positions[nextPosition()];
+        Task task = tasks.getTask(index);
+        String reply = tasks.deleteTask(index);
+        tasks.addTask(task);
+        tasks.markSaved();
+        return reply;
+    }
+
+    private int nextPosition() {
+        next = (next + 1) & (POSITION_COUNT - 1);
+        return next;
+    }
+}
@@ -67,13 +67,16 @@ public class AddCommand extends Command {
 
     @Override
     public CommandResult execute(TaskList tasks, Storage storage) {
+        String output;
         if (taskType.equals("todo")) {
-            return new CommandResult(tasks.addTodo(taskDescription, isDone));
+            output = tasks.addTodo(taskDescription, isDone);
         } else if (taskType.equals("deadline")) {
-            return new CommandResult(tasks.addDeadline(taskDescription, isDone, deadline));
+            output = tasks.addDeadline(taskDescription, isDone, deadline);
         } else {
-            return new CommandResult(tasks.addEvent(taskDescription, isDone, fromDate, toDate));
+            output = tasks.addEvent(taskDescription, isDone, fromDate, toDate);
         }
+
+        return new CommandResult(output);
     }
     @Override
     public String getType() {
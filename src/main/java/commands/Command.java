@@ -20,6 +20,45 @@ public class Command {
     public CommandResult execute(TaskList tasks, Storage storage) {
         throw new UnsupportedOperationException("Not supported yet, only subclasses can call execute.");
     }
+    /**
+     * Checks whether the command only reads the task list, so that it can run at the same time as other such commands.
+     *
+     * @return {@code true} if the command does not change the task list.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Checks whether the changes the command makes to the task list can be undone by the undo command.
+     *
+     * @return {@code true} if the command's changes are recorded in the command history.
+     */
+    public boolean isUndoable() {
+        return !isReadOnly();
+    }
+
+    /**
+     * Checks whether the command asks to close the application, which only happens once the task list is saved.
+     *
+     * @return {@code true} if the command is an exit command.
+     */
+    public boolean isExit() {
+        return false;
+    }
+
+    /**
+     * Adjusts the task numbers in the command for tasks deleted since the user last saw the list,
+     * so that they refer to the tasks the user saw. Commands without task numbers need no adjusting.
+     *
+     * @param tasks       The task list the command is about to be executed on.
+     * @param seenVersion The version of the list the user last saw, as returned by {@link TaskList#getVersion()}.
+     * @return An error message if a task the command refers to has since been deleted, or {@code null} otherwise.
+     */
+    public String adjustForDeletions(TaskList tasks, long seenVersion) {
+        return null;
+    }
+
     /**
      * Returns the command type.
      * @throws UnsupportedOperationException if the command is not implemented.
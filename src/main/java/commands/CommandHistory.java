@@ -0,0 +1,132 @@
+package commands;
+
+import java.util.List;
+
+import task.TaskChange;
+
+/**
+ * Keeps the changes made by the most recent commands, so that they can be undone and redone.
+ * Each entry remembers the session that ran its command, so that one session cannot undo another's changes.
+ * Entries are held in a ring of fixed size: once it is full, recording a command forgets the oldest one.
+ * Recording, undoing and redoing each take O(1) time, apart from making the changes themselves.
+ */
+public class CommandHistory {
+    /** The number of commands kept when no number is given. */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    private final Entry[] entries;
+    private int next;
+    private int undoableCount;
+    private int redoableCount;
+
+    /**
+     * Represents one command in the history: the session that ran it, its type and the changes it made, oldest first.
+     */
+    public static class Entry {
+        private final Object session;
+        private final String commandType;
+        private final List<TaskChange> changes;
+
+        Entry(Object session, String commandType, List<TaskChange> changes) {
+            this.session = session;
+            this.commandType = commandType;
+            this.changes = changes;
+        }
+
+        public Object getSession() {
+            return session;
+        }
+
+        public String getCommandType() {
+            return commandType;
+        }
+
+        public List<TaskChange> getChanges() {
+            return changes;
+        }
+    }
+
+    /**
+     * Constructs a CommandHistory that keeps the given number of commands.
+     *
+     * @param capacity The number of commands kept, at least 1.
+     */
+    public CommandHistory(int capacity) {
+        assert capacity > 0 : "The history must be able to hold a command";
+        this.entries = new Entry[capacity];
+    }
+
+    /**
+     * Constructs a CommandHistory that keeps the default number of commands.
+     */
+    public CommandHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Records a command that changed the task list. Commands that were undone can no longer be redone.
+     *
+     * @param session     The session that ran the command.
+     * @param commandType The type of the command.
+     * @param changes     The changes the command made, oldest first. The list must not be changed afterwards.
+     */
+    public void record(Object session, String commandType, List<TaskChange> changes) {
+        // Let go of the commands that can no longer be redone
+        for (int i = 0; i < redoableCount; i++) {
+            entries[(next + i) % entries.length] = null;
+        }
+        entries[next] = new Entry(session, commandType, changes);
+        next = (next + 1) % entries.length;
+        undoableCount = Math.min(undoableCount + 1, entries.length);
+        redoableCount = 0;
+    }
+
+    /**
+     * Returns the command that {@link #undo()} would step back over, without stepping over it.
+     *
+     * @return The command to undo, or {@code null} if there is none.
+     */
+    public Entry peekUndo() {
+        return undoableCount == 0 ? null : entries[(next - 1 + entries.length) % entries.length];
+    }
+
+    /**
+     * Returns the command that {@link #redo()} would step forward over, without stepping over it.
+     *
+     * @return The command to redo, or {@code null} if there is none.
+     */
+    public Entry peekRedo() {
+        return redoableCount == 0 ? null : entries[next];
+    }
+
+    /**
+     * Steps back over the latest command that has not been undone, so that it can be redone later.
+     *
+     * @return The command to undo, or {@code null} if there is none.
+     */
+    public Entry undo() {
+        if (undoableCount == 0) {
+            return null;
+        }
+        next = (next - 1 + entries.length) % entries.length;
+        undoableCount--;
+        redoableCount++;
+        return entries[next];
+    }
+
+    /**
+     * Steps forward over the latest command that was undone.
+     *
+     * @return The command to redo, or {@code null} if there is none.
+     */
+    public Entry redo() {
+        if (redoableCount == 0) {
+            return null;
+        }
+        Entry entry = entries[next];
+        next = (next + 1) % entries.length;
+        undoableCount++;
+        redoableCount--;
+        return entry;
+    }
+}
@@ -5,9 +5,21 @@ package commands;
  */
 public class CommandResult {
     public final String commandOutput;
+    public final boolean isError;
 
     public CommandResult(String commandOutput) {
+        this(commandOutput, false);
+    }
+
+    /**
+     * Constructs a CommandResult.
+     *
+     * @param commandOutput The text shown to the user.
+     * @param isError       Whether the command could not be carried out.
+     */
+    public CommandResult(String commandOutput, boolean isError) {
         this.commandOutput = commandOutput;
+        this.isError = isError;
     }
 
     @Override
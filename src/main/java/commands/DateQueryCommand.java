@@ -0,0 +1,70 @@
+package commands;
+
+import java.time.LocalDateTime;
+
+import storage.Storage;
+import task.TaskList;
+
+/**
+ * Represents the command that finds deadlines and events by date.
+ * It supports finding deadlines due before a date, and tasks lying between or overlapping two dates.
+ */
+public class DateQueryCommand extends Command {
+    /**
+     * Represents the kinds of date queries that can be made.
+     */
+    public enum Query {
+        DUE_BEFORE("due"),
+        BETWEEN("between"),
+        OVERLAPPING("overlapping");
+
+        private final String commandType;
+
+        Query(String commandType) {
+            this.commandType = commandType;
+        }
+    }
+
+    private final Query query;
+    private final LocalDateTime fromDate;
+    private final LocalDateTime toDate;
+
+    /**
+     * Creates a {@link DateQueryCommand} for finding deadlines due before a date.
+     *
+     * @param date The date the deadlines must be due before.
+     */
+    public DateQueryCommand(LocalDateTime date) {
+        this(Query.DUE_BEFORE, date, date);
+    }
+
+    /**
+     * Creates a {@link DateQueryCommand} for finding tasks in a period.
+     *
+     * @param query    The kind of query, either {@link Query#BETWEEN} or {@link Query#OVERLAPPING}.
+     * @param fromDate The start of the period (inclusive).
+     * @param toDate   The end of the period (inclusive).
+     */
+    public DateQueryCommand(Query query, LocalDateTime fromDate, LocalDateTime toDate) {
+        this.query = query;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks, Storage storage) {
+        return switch (query) {
+        case DUE_BEFORE -> new CommandResult(tasks.findDueBefore(fromDate));
+        case BETWEEN -> new CommandResult(tasks.findBetween(fromDate, toDate));
+        case OVERLAPPING -> new CommandResult(tasks.findOverlapping(fromDate, toDate));
+        };
+    }
+    @Override
+    public String getType() {
+        return query.commandType;
+    }
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
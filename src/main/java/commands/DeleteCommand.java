@@ -5,29 +5,50 @@ import task.TaskList;
 
 /**
  * Represents a command to delete a task from the task list.
+ * Several tasks can be deleted at once by giving a list of indices and ranges, such as "3,7,10-20".
  */
 public class DeleteCommand extends Command {
     private final String commandType = "delete";
-    private int index;
+    private TaskSelection selection;
 
     public DeleteCommand(int index) {
-        this.index = index;
+        this(TaskSelection.of(index));
+    }
+
+    public DeleteCommand(TaskSelection selection) {
+        this.selection = selection;
     }
 
     @Override
     public CommandResult execute(TaskList tasks, Storage storage) {
         if (tasks.isEmpty()) {
-            return new CommandResult("Error: Task List is empty. No tasks to mark.");
+            return new CommandResult("Error: Task List is empty. No tasks to mark.", true);
+        }
+
+        TaskSelection resolved = selection.withIdsResolved(tasks);
+        if (resolved == null) {
+            return new CommandResult("Error: There is no task with that ID for delete request.", true);
         }
 
-        if (index < 0 || index >= tasks.size()) {
-            return new CommandResult("Error: Index is out of bounds for delete request.");
+        if (!resolved.isWithin(tasks.size())) {
+            return new CommandResult("Error: Index is out of bounds for delete request.", true);
         }
 
-        return new CommandResult(tasks.deleteTask(index));
+        int[] indices = resolved.toIndices();
+        String output = indices.length == 1 ? tasks.deleteTask(indices[0]) : tasks.deleteTasks(indices);
+        return new CommandResult(output);
     }
     @Override
     public String getType() {
         return commandType;
     }
+    @Override
+    public String adjustForDeletions(TaskList tasks, long seenVersion) {
+        TaskSelection adjusted = selection.afterDeletionsSince(tasks, seenVersion);
+        if (adjusted == null) {
+            return TaskSelection.DELETED_TASK_ERROR;
+        }
+        selection = adjusted;
+        return null;
+    }
 }
@@ -5,16 +5,25 @@ import task.TaskList;
 
 /**
  * Represents the command that exits the application.
+ * The application only exits once the task list has been saved, which the caller does after running the command,
+ * without holding up other commands.
  */
 public class ExitCommand extends Command {
     private final String commandType = "exit";
     @Override
     public CommandResult execute(TaskList tasks, Storage storage) {
-        storage.saveTasksToFile(tasks);
         return new CommandResult("Bye. Hope to see you again soon!");
     }
     @Override
     public String getType() {
         return commandType;
     }
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+    @Override
+    public boolean isExit() {
+        return true;
+    }
 }
@@ -0,0 +1,39 @@
+package commands;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+import storage.Storage;
+import task.TaskList;
+
+/**
+ * Represents the command that writes every task to a file in the text format,
+ * which can be read by earlier versions of Cow or edited by hand.
+ */
+public class ExportCommand extends Command {
+    private final String commandType = "export";
+    private final String fileName;
+
+    public ExportCommand(String fileName) {
+        this.fileName = fileName;
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks, Storage storage) {
+        try {
+            storage.exportTasks(tasks, Path.of(fileName));
+        } catch (IOException | InvalidPathException e) {
+            return new CommandResult("Error: Unable to export tasks to " + fileName + ": " + e.getMessage(), true);
+        }
+        return new CommandResult("Exported " + tasks.size() + " tasks to " + fileName + ".");
+    }
+    @Override
+    public String getType() {
+        return commandType;
+    }
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
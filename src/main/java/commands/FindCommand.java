@@ -18,7 +18,7 @@ public class FindCommand extends Command {
     @Override
     public CommandResult execute(TaskList tasks, Storage storage) {
         if (description.isEmpty()) {
-            return new CommandResult("Error: Cannot find an empty description.");
+            return new CommandResult("Error: Cannot find an empty description.", true);
         }
 
         return new CommandResult(tasks.findTask(description));
@@ -27,4 +27,8 @@ public class FindCommand extends Command {
     public String getType() {
         return commandType;
     }
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -0,0 +1,43 @@
+package commands;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.List;
+
+import storage.Storage;
+import task.Task;
+import task.TaskList;
+
+/**
+ * Represents the command that adds the tasks of a file to the end of the task list.
+ * The file may be in the text format or the binary snapshot format.
+ */
+public class ImportCommand extends Command {
+    private final String commandType = "import";
+    private final String fileName;
+
+    public ImportCommand(String fileName) {
+        this.fileName = fileName;
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks, Storage storage) {
+        List<Task> imported;
+        try {
+            imported = storage.importTasks(Path.of(fileName));
+        } catch (IOException | InvalidPathException e) {
+            return new CommandResult("Error: Unable to import tasks from " + fileName + ": " + e.getMessage(), true);
+        }
+
+        for (Task task : imported) {
+            tasks.addTask(task);
+        }
+        return new CommandResult("Imported " + imported.size() + " tasks from " + fileName + ".\n"
+                + "Now you have " + tasks.size() + " tasks in the list.");
+    }
+    @Override
+    public String getType() {
+        return commandType;
+    }
+}
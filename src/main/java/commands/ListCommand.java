@@ -5,17 +5,57 @@ import task.TaskList;
 
 /**
  * Represents the command that lists all tasks in the task list.
- * When executed, it returns the entire list of tasks.
+ * When executed, it returns the entire list of tasks, or a single page of it if a page or limit was given.
  */
 public class ListCommand extends Command {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
     private final String commandType = "list";
+    private final int page;
+    private final int limit;
+    private final boolean isPaged;
+
+    /**
+     * Creates a {@link ListCommand} that lists every task.
+     */
+    public ListCommand() {
+        this.page = 1;
+        this.limit = Integer.MAX_VALUE;
+        this.isPaged = false;
+    }
+
+    /**
+     * Creates a {@link ListCommand} that lists a single page of tasks.
+     *
+     * @param page  The page to list (1-based).
+     * @param limit The number of tasks on each page.
+     */
+    public ListCommand(int page, int limit) {
+        this.page = page;
+        this.limit = limit;
+        this.isPaged = true;
+    }
 
     @Override
     public CommandResult execute(TaskList tasks, Storage storage) {
-        return new CommandResult(tasks.listAllTasks());
+        if (!isPaged) {
+            return new CommandResult(tasks.listAllTasks());
+        }
+
+        long offset = (long) (page - 1) * limit;
+        if (!tasks.isEmpty() && offset >= tasks.size()) {
+            long pageCount = (tasks.size() + (long) limit - 1) / limit;
+            return new CommandResult("Error: Page " + page + " is out of range. Your list has "
+                    + pageCount + " page(s) of " + limit + " tasks.", true);
+        }
+        return new CommandResult(tasks.listTasks((int) offset, limit));
     }
     @Override
     public String getType() {
         return commandType;
     }
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
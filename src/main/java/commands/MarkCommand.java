@@ -5,29 +5,50 @@ import task.TaskList;
 
 /**
  * Represents the command that marks a task as completed in the task list.
+ * Several tasks can be marked at once by giving a list of indices and ranges, such as "3,7,10-20".
  */
 public class MarkCommand extends Command {
     private final String commandType = "mark";
-    private int index;
+    private TaskSelection selection;
 
     public MarkCommand(int index) {
-        this.index = index;
+        this(TaskSelection.of(index));
+    }
+
+    public MarkCommand(TaskSelection selection) {
+        this.selection = selection;
     }
 
     @Override
     public CommandResult execute(TaskList tasks, Storage storage) {
         if (tasks.isEmpty()) {
-            return new CommandResult("Error: Task List is empty. No tasks to mark.");
+            return new CommandResult("Error: Task List is empty. No tasks to mark.", true);
+        }
+
+        TaskSelection resolved = selection.withIdsResolved(tasks);
+        if (resolved == null) {
+            return new CommandResult("Error: There is no task with that ID for mark request.", true);
         }
 
-        if (index < 0 || index >= tasks.size()) {
-            return new CommandResult("Error: Index is out of bounds for mark request.");
+        if (!resolved.isWithin(tasks.size())) {
+            return new CommandResult("Error: Index is out of bounds for mark request.", true);
         }
 
-        return new CommandResult(tasks.markTask(index));
+        int[] indices = resolved.toIndices();
+        String output = indices.length == 1 ? tasks.markTask(indices[0]) : tasks.markTasks(indices);
+        return new CommandResult(output);
     }
     @Override
     public String getType() {
         return commandType;
     }
+    @Override
+    public String adjustForDeletions(TaskList tasks, long seenVersion) {
+        TaskSelection adjusted = selection.afterDeletionsSince(tasks, seenVersion);
+        if (adjusted == null) {
+            return TaskSelection.DELETED_TASK_ERROR;
+        }
+        selection = adjusted;
+        return null;
+    }
 }
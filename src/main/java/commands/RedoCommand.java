@@ -0,0 +1,53 @@
+package commands;
+
+import storage.Storage;
+import task.TaskList;
+
+/**
+ * Represents the command that makes the changes of the latest undone command again.
+ * As with {@link UndoCommand}, only the session that ran the command can redo it.
+ */
+public class RedoCommand extends Command {
+    private final CommandHistory history;
+    private final Object session;
+    private String commandType = "redo";
+
+    /**
+     * Constructs a RedoCommand for the given session.
+     *
+     * @param history The history of the commands that changed the task list.
+     * @param session The session the command was entered in.
+     */
+    public RedoCommand(CommandHistory history, Object session) {
+        this.history = history;
+        this.session = session;
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks, Storage storage) {
+        CommandHistory.Entry entry = history.peekRedo();
+        if (entry == null) {
+            commandType = "incorrect";
+            return new CommandResult("Error: There is nothing to redo.", true);
+        }
+        if (entry.getSession() != session) {
+            commandType = "incorrect";
+            return new CommandResult("Error: The latest undone change was made in another session, "
+                    + "so it cannot be redone here.", true);
+        }
+
+        history.redo();
+
+        tasks.reapply(entry.getChanges());
+        return new CommandResult("OK, I've redone your " + entry.getCommandType() + " command.\n"
+                + "Now you have " + tasks.size() + " tasks in the list.");
+    }
+    @Override
+    public String getType() {
+        return commandType;
+    }
+    @Override
+    public boolean isUndoable() {
+        return false;
+    }
+}
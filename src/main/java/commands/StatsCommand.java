@@ -0,0 +1,30 @@
+package commands;
+
+import metrics.CommandMetrics;
+import storage.Storage;
+import task.TaskList;
+
+/**
+ * Represents the command that shows how many commands of each type have been run and how long they took.
+ */
+public class StatsCommand extends Command {
+    private final String commandType = "stats";
+    private final CommandMetrics metrics;
+
+    public StatsCommand(CommandMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks, Storage storage) {
+        return new CommandResult(metrics.format());
+    }
+    @Override
+    public String getType() {
+        return commandType;
+    }
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
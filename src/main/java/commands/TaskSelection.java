@@ -0,0 +1,211 @@
+package commands;
+
+import java.util.Arrays;
+
+import task.TaskList;
+
+/**
+ * Represents the tasks targeted by an index-based command, such as "3", "3,7,10-200" or "#42".
+ * Positions are held as sorted, non-overlapping ranges, so a large range costs no more than a single index
+ * until the selection is checked against the task list and expanded.
+ * Tasks chosen by ID are held apart from positions until {@link #withIdsResolved(TaskList)} looks them up.
+ */
+public class TaskSelection {
+    /** The reply when a selected task was deleted after the user last saw the list. */
+    public static final String DELETED_TASK_ERROR =
+            "Error: Some of these tasks were deleted since you last saw the list. Please list the tasks again.";
+
+    private final int[] starts;
+    private final int[] ends;
+    private final long[] ids;
+
+    /**
+     * Constructs a TaskSelection from ranges of positions, which may be unsorted or overlapping.
+     *
+     * @param starts The first position of each range (0-based, inclusive).
+     * @param ends   The last position of each range (0-based, inclusive).
+     */
+    public TaskSelection(int[] starts, int[] ends) {
+        this(starts, ends, new long[0]);
+    }
+
+    /**
+     * Constructs a TaskSelection from ranges of positions, which may be unsorted or overlapping, and task IDs.
+     *
+     * @param starts The first position of each range (0-based, inclusive).
+     * @param ends   The last position of each range (0-based, inclusive).
+     * @param ids    The IDs of further tasks.
+     */
+    public TaskSelection(int[] starts, int[] ends, long[] ids) {
+        assert starts.length == ends.length : "Every range needs both a start and an end";
+
+        // Ranges are usually typed in order, and then need no sorting
+        Integer[] order = isSorted(starts) ? null : sortedOrder(starts);
+
+        int[] mergedStarts = new int[starts.length];
+        int[] mergedEnds = new int[ends.length];
+        int count = 0;
+        for (int k = 0; k < starts.length; k++) {
+            int i = order == null ? k : order[k];
+            if (count > 0 && starts[i] <= (long) mergedEnds[count - 1] + 1) {
+                mergedEnds[count - 1] = Math.max(mergedEnds[count - 1], ends[i]);
+            } else {
+                mergedStarts[count] = starts[i];
+                mergedEnds[count] = ends[i];
+                count++;
+            }
+        }
+        this.starts = count == starts.length ? mergedStarts : Arrays.copyOf(mergedStarts, count);
+        this.ends = count == ends.length ? mergedEnds : Arrays.copyOf(mergedEnds, count);
+        this.ids = ids;
+    }
+
+    /**
+     * Returns a selection holding a single position.
+     *
+     * @param index The position of the task (0-based).
+     * @return The selection.
+     */
+    public static TaskSelection of(int index) {
+        return new TaskSelection(new int[] {index}, new int[] {index});
+    }
+
+    private static boolean isSorted(int[] starts) {
+        for (int i = 1; i < starts.length; i++) {
+            if (starts[i] < starts[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Integer[] sortedOrder(int[] starts) {
+        Integer[] order = new Integer[starts.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(starts[a], starts[b]));
+        return order;
+    }
+
+    /**
+     * Returns the selection with every task chosen by ID replaced by the task's current position.
+     *
+     * @param tasks The task list.
+     * @return The selection as positions only, or {@code null} if no task in the list has one of the IDs.
+     */
+    public TaskSelection withIdsResolved(TaskList tasks) {
+        if (ids.length == 0) {
+            return this;
+        }
+
+        int[] allStarts = Arrays.copyOf(starts, starts.length + ids.length);
+        int[] allEnds = Arrays.copyOf(ends, ends.length + ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            int index = tasks.indexOfId(ids[i]);
+            if (index < 0) {
+                return null;
+            }
+            allStarts[starts.length + i] = index;
+            allEnds[ends.length + i] = index;
+        }
+        return new TaskSelection(allStarts, allEnds);
+    }
+
+    /**
+     * Returns the number of positions in the selection.
+     *
+     * @return The number of selected positions.
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < starts.length; i++) {
+            count += (long) ends[i] - starts[i] + 1;
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether every position in the selection refers to a task in a list of the given size.
+     * Tasks chosen by ID are not checked.
+     *
+     * @param size The number of tasks in the list.
+     * @return {@code true} if all positions are in bounds, {@code false} otherwise.
+     */
+    public boolean isWithin(int size) {
+        return starts.length > 0 && starts[0] >= 0 && ends[ends.length - 1] < size;
+    }
+
+    /**
+     * Returns the selection adjusted for the tasks deleted or inserted since the list was at the given version,
+     * so that it refers to the same tasks as it did in that version. Tasks chosen by ID need no adjusting.
+     * A range that a task has since been inserted into is split around it, so the inserted task is not selected.
+     *
+     * @param tasks        The task list.
+     * @param sinceVersion The version of the list the positions were chosen from.
+     * @return The adjusted selection, or {@code null} if a selected task has since been deleted,
+     *         or too many tasks have been deleted or inserted to tell.
+     */
+    public TaskSelection afterDeletionsSince(TaskList tasks, long sinceVersion) {
+        if (tasks.getVersion() == sinceVersion || starts.length == 0 || starts[0] < 0) {
+            return this;
+        }
+
+        int[] changes = tasks.getPositionChangesSince(sinceVersion);
+        if (changes == null) {
+            return null;
+        }
+        int[] adjustedStarts = starts.clone();
+        int[] adjustedEnds = ends.clone();
+        for (int change : changes) {
+            if (change < 0) {
+                int inserted = ~change;
+                for (int i = adjustedStarts.length - 1; i >= 0 && adjustedEnds[i] >= inserted; i--) {
+                    if (adjustedStarts[i] < inserted) {
+                        adjustedStarts = insertAt(adjustedStarts, i + 1, inserted + 1);
+                        adjustedEnds = insertAt(adjustedEnds, i, inserted - 1);
+                        adjustedEnds[i + 1]++;
+                        break;
+                    }
+                    adjustedStarts[i]++;
+                    adjustedEnds[i]++;
+                }
+                continue;
+            }
+            for (int i = 0; i < adjustedStarts.length; i++) {
+                if (change < adjustedStarts[i]) {
+                    adjustedStarts[i]--;
+                    adjustedEnds[i]--;
+                } else if (change <= adjustedEnds[i]) {
+                    return null;
+                }
+            }
+        }
+        return new TaskSelection(adjustedStarts, adjustedEnds, ids);
+    }
+
+    private static int[] insertAt(int[] array, int index, int value) {
+        int[] result = new int[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    /**
+     * Returns every selected position in ascending order.
+     * Should only be called once the selection is known to be within the bounds of the task list.
+     *
+     * @return The selected positions (0-based).
+     */
+    public int[] toIndices() {
+        int[] indices = new int[(int) count()];
+        int next = 0;
+        for (int i = 0; i < starts.length; i++) {
+            for (int index = starts[i]; index <= ends[i]; index++) {
+                indices[next++] = index;
+            }
+        }
+        return indices;
+    }
+}
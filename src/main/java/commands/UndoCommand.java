@@ -0,0 +1,56 @@
+package commands;
+
+import storage.Storage;
+import task.TaskList;
+
+/**
+ * Represents the command that undoes the latest command that changed the task list.
+ * Deleted tasks are put back where they were, added tasks are removed and marks are reversed,
+ * and the undoing is saved as changes like any other command.
+ * The history is shared by every session, but only the session that ran the latest command can undo it:
+ * the changes are kept by position, so undoing them under another session's later changes would undo the wrong tasks.
+ */
+public class UndoCommand extends Command {
+    private final CommandHistory history;
+    private final Object session;
+    private String commandType = "undo";
+
+    /**
+     * Constructs an UndoCommand for the given session.
+     *
+     * @param history The history of the commands that changed the task list.
+     * @param session The session the command was entered in.
+     */
+    public UndoCommand(CommandHistory history, Object session) {
+        this.history = history;
+        this.session = session;
+    }
+
+    @Override
+    public CommandResult execute(TaskList tasks, Storage storage) {
+        CommandHistory.Entry entry = history.peekUndo();
+        if (entry == null) {
+            commandType = "incorrect";
+            return new CommandResult("Error: There is nothing to undo.", true);
+        }
+        if (entry.getSession() != session) {
+            commandType = "incorrect";
+            return new CommandResult("Error: The latest change was made in another session, "
+                    + "so it cannot be undone here.", true);
+        }
+
+        history.undo();
+
+        tasks.revert(entry.getChanges());
+        return new CommandResult("OK, I've undone your last " + entry.getCommandType() + " command.\n"
+                + "Now you have " + tasks.size() + " tasks in the list.");
+    }
+    @Override
+    public String getType() {
+        return commandType;
+    }
+    @Override
+    public boolean isUndoable() {
+        return false;
+    }
+}
@@ -16,10 +16,14 @@ public class UnknownCommand extends Command {
 
     @Override
     public CommandResult execute(TaskList tasks, Storage storage) {
-        return new CommandResult(this.feedbackToUser);
+        return new CommandResult(this.feedbackToUser, true);
     }
     @Override
     public String getType() {
         return commandType;
     }
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -5,29 +5,50 @@ import task.TaskList;
 
 /**
  * Represents the command that unmarks a task as completed in the task list.
+ * Several tasks can be unmarked at once by giving a list of indices and ranges, such as "3,7,10-20".
  */
 public class UnmarkCommand extends Command {
     private final String commandType = "unmark";
-    private int index;
+    private TaskSelection selection;
 
     public UnmarkCommand(int index) {
-        this.index = index;
+        this(TaskSelection.of(index));
+    }
+
+    public UnmarkCommand(TaskSelection selection) {
+        this.selection = selection;
     }
 
     @Override
     public CommandResult execute(TaskList tasks, Storage storage) {
         if (tasks.isEmpty()) {
-            return new CommandResult("Error: Task List is empty. No tasks to unmark.");
+            return new CommandResult("Error: Task List is empty. No tasks to unmark.", true);
+        }
+
+        TaskSelection resolved = selection.withIdsResolved(tasks);
+        if (resolved == null) {
+            return new CommandResult("Error: There is no task with that ID for unmark request.", true);
         }
 
-        if (index < 0 || index >= tasks.size()) {
-            return new CommandResult("Error: index is out of bounds for unmark request.");
+        if (!resolved.isWithin(tasks.size())) {
+            return new CommandResult("Error: index is out of bounds for unmark request.", true);
         }
 
-        return new CommandResult(tasks.unmarkTask(index));
+        int[] indices = resolved.toIndices();
+        String output = indices.length == 1 ? tasks.unmarkTask(indices[0]) : tasks.unmarkTasks(indices);
+        return new CommandResult(output);
     }
     @Override
     public String getType() {
         return commandType;
     }
+    @Override
+    public String adjustForDeletions(TaskList tasks, long seenVersion) {
+        TaskSelection adjusted = selection.afterDeletionsSince(tasks, seenVersion);
+        if (adjusted == null) {
+            return TaskSelection.DELETED_TASK_ERROR;
+        }
+        selection = adjusted;
+        return null;
+    }
 }
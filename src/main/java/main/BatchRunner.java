@@ -0,0 +1,123 @@
+package main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs a script of commands without starting the GUI, such as to import many tasks at once.
+ * Each non-blank line of the script is run as one command, and lines starting with '#' are skipped.
+ * Changes are saved in the background as they are made, and the whole task list is saved once at the end.
+ */
+public class BatchRunner {
+    private final Cow cow;
+    private int commandCount;
+    private int failedCount;
+    private boolean hasSaveFailed;
+
+    /**
+     * Constructs a BatchRunner that runs commands against the given Cow instance.
+     *
+     * @param cow The Cow instance holding the task list.
+     */
+    public BatchRunner(Cow cow) {
+        this.cow = cow;
+    }
+
+    /**
+     * Runs the script at the given path, or standard input if the path is "-", against the saved task list.
+     * The response to each command is written to standard output, and a summary to standard error.
+     *
+     * @param source   The path of the script, or "-" for standard input.
+     * @param filePath The path of the file where tasks are saved.
+     * @return The exit status: 0 if every command succeeded and the tasks were saved, 1 otherwise.
+     */
+    public static int runScript(String source, String filePath) {
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+        try (BufferedReader script = source.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : Files.newBufferedReader(Path.of(source), StandardCharsets.UTF_8)) {
+            Cow cow = new Cow(filePath);
+            BatchRunner runner = new BatchRunner(cow);
+
+            long startTime = System.nanoTime();
+            runner.run(script, out);
+            long elapsedNanos = System.nanoTime() - startTime;
+
+            out.flush();
+            System.err.printf("Ran %d commands (%d failed) in %d ms, %.0f commands/s%n",
+                runner.getCommandCount(), runner.getFailedCount(), elapsedNanos / 1_000_000,
+                runner.getCommandCount() * 1e9 / Math.max(elapsedNanos, 1));
+            System.err.printf("Saved tasks in %d ms%n", cow.getLastSaveDuration().toMillis());
+            // Closed whatever happened, so the autosaver stops and the final metrics are written
+            boolean isClosed = close(cow);
+            return runner.getFailedCount() == 0 && !runner.hasSaveFailed() && isClosed ? 0 : 1;
+        } catch (IOException e) {
+            out.flush();
+            System.err.println("Error reading script: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Runs every command in the script and then saves the task list.
+     * Running stops early at an exit command, and the task list is still saved once at the end.
+     * If the task list cannot be saved, the error is written to standard error.
+     *
+     * @param script The script to read commands from.
+     * @param out    Where the response to each command is written.
+     * @throws IOException If the script cannot be read.
+     */
+    public void run(BufferedReader script, PrintWriter out) throws IOException {
+        String line;
+        while ((line = script.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            Response response = cow.getResponse(line);
+            out.println(response.getText());
+            commandCount++;
+            if (response.isFailure()) {
+                failedCount++;
+            } else if (response.isExit()) {
+                break;
+            }
+        }
+        try {
+            cow.save();
+        } catch (IOException e) {
+            System.err.println("Error saving tasks: " + e.getMessage());
+            hasSaveFailed = true;
+        }
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public boolean hasSaveFailed() {
+        return hasSaveFailed;
+    }
+
+    private static boolean close(Cow cow) {
+        try {
+            cow.close();
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error saving tasks: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package main;
+
+/**
+ * Represents a single message in the chat history, sent either by the user or by Cow.
+ */
+public class ChatMessage {
+    private final String text;
+    private final boolean isFromUser;
+    private final String commandType;
+
+    private ChatMessage(String text, boolean isFromUser, String commandType) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+        this.commandType = commandType;
+    }
+
+    /**
+     * Returns a message entered by the user.
+     *
+     * @param text The text entered.
+     * @return The message.
+     */
+    public static ChatMessage fromUser(String text) {
+        return new ChatMessage(text, true, "");
+    }
+
+    /**
+     * Returns a message sent by Cow.
+     *
+     * @param text        The text of the reply.
+     * @param commandType The type of the command being replied to, which decides how the reply is styled.
+     * @return The message.
+     */
+    public static ChatMessage fromCow(String text, String commandType) {
+        return new ChatMessage(text, false, commandType);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+
+    public String getCommandType() {
+        return commandType;
+    }
+}
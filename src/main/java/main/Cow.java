@@ -1,19 +1,41 @@
 package main;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
 import commands.Command;
+import commands.CommandHistory;
 import commands.CommandResult;
+import metrics.CommandMetrics;
+import metrics.CommandTimer;
+import metrics.MetricsReporter;
 import parser.Parser;
+import storage.Autosaver;
 import storage.Storage;
+import task.TaskChange;
 import task.TaskList;
 
 /**
  * Represents the main class of the cow.Cow application that interacts with the user,
  * manages tasks, and handles storage.
+ * One instance may be shared by several front-ends, each with its own {@link Session}.
  */
 public class Cow {
+    /** The file tasks are saved to by default. */
+    public static final String DEFAULT_FILE_PATH = "data/cow.txt";
+
+    private final CommandMetrics metrics = new CommandMetrics();
+    private final CommandHistory history = new CommandHistory();
+    private final Parser parser = new Parser(metrics, history);
     private final Storage storage;
     private final TaskList tasks;
-    private String commandType;
+    private final Autosaver autosaver;
+    private final MetricsReporter metricsReporter;
+    private final StampedLock lock = new StampedLock();
+    private final Session defaultSession;
 
     /**
      * Constructs a new cow.Cow instance with the specified file path for task storage.
@@ -22,19 +44,194 @@ public class Cow {
      * @param filePath the path to the file where tasks are saved and loaded from.
      */
     public Cow(String filePath) {
+        this(filePath, Autosaver.DEFAULT_DELAY);
+    }
+
+    /**
+     * Constructs a new cow.Cow instance that saves changes to the task list in the background.
+     * Changes made within the given delay of each other are saved together.
+     *
+     * @param filePath      the path to the file where tasks are saved and loaded from.
+     * @param autosaveDelay how long to wait after a change before saving it.
+     */
+    public Cow(String filePath, Duration autosaveDelay) {
+        this(filePath, autosaveDelay, false);
+    }
+
+    /**
+     * Constructs a new cow.Cow instance that may keep its tasks in a compact list, for task files
+     * of millions of tasks. See {@link TaskList#createCompact()} for what that trades away.
+     *
+     * @param filePath      the path to the file where tasks are saved and loaded from.
+     * @param autosaveDelay how long to wait after a change before saving it.
+     * @param isCompact     whether to keep the tasks in a compact list.
+     */
+    public Cow(String filePath, Duration autosaveDelay, boolean isCompact) {
         this.storage = new Storage(filePath);
-        this.tasks = storage.loadTasksFromFile();
+        this.tasks = storage.loadTasksFromFile(isCompact ? TaskList.createCompact() : new TaskList());
+        this.autosaver = new Autosaver(storage, tasks, lock, autosaveDelay);
+        this.metricsReporter = new MetricsReporter(metrics, Path.of(filePath + ".metrics.json"),
+                MetricsReporter.DEFAULT_INTERVAL);
+        this.defaultSession = new Session(tasks.getVersion());
+    }
+
+    /**
+     * Opens a session for another user sharing this instance, such as another front-end.
+     *
+     * @return A session whose user has seen the task list as it is now.
+     */
+    public Session openSession() {
+        long stamp = lock.readLock();
+        try {
+            return new Session(tasks.getVersion());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a command entered by the user.
+     *
+     * @param input The command entered by the user.
+     * @return The reply to the command.
+     */
+    public Response getResponse(String input) {
+        return getResponse(defaultSession, input);
+    }
+
+    /**
+     * Runs a command entered by the user of the given session.
+     * Commands that only read the task list may run at the same time as each other, from any thread,
+     * while commands that change it run one at a time.
+     * Task numbers in the command refer to the list as the session last saw it.
+     * The undo history is shared by all sessions, and an undo or redo is refused when the latest entry
+     * came from another session.
+     * How long each phase of the command took is recorded for the stats command.
+     * An exit command waits for every change to be saved, and fails if they cannot be.
+     *
+     * @param session The session the command was entered in.
+     * @param input   The command entered by the user.
+     * @return The reply to the command.
+     */
+    public Response getResponse(Session session, String input) {
+        CommandTimer timer = metrics.startTimer();
+        Command command = parser.parseCommand(input.trim(), session);
+        timer.markParsed();
+        CommandResult result = command.isReadOnly() ? read(session, command, timer) : write(session, command, timer);
+
+        String output = result.toString();
+        String commandType = command.getType();
+        boolean isFailure = result.isError;
+        if (command.isExit()) {
+            try {
+                autosaver.flush();
+            } catch (IOException e) {
+                output = "Error: Unable to save tasks: " + e.getMessage() + "\n"
+                        + "Your tasks have not been saved, so I am not exiting yet.";
+                commandType = "incorrect";
+                isFailure = true;
+            }
+        }
+        IOException saveError = autosaver.takeError();
+        if (saveError != null) {
+            output += "\nWarning: Unable to save changes: " + saveError.getMessage();
+        }
+        Response response = new Response(output, commandType, isFailure);
+        timer.finish(commandType);
+        return response;
+    }
+
+    private CommandResult read(Session session, Command command, CommandTimer timer) {
+        long stamp = lock.readLock();
+        try {
+            timer.markExecuteStarted();
+            CommandResult result = command.execute(tasks, storage);
+            timer.markExecuted();
+            session.setSeenVersion(tasks.getVersion());
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private CommandResult write(Session session, Command command, CommandTimer timer) {
+        boolean hasChanges;
+        CommandResult result;
+        long stamp = lock.writeLock();
+        try {
+            timer.markExecuteStarted();
+            String error = command.adjustForDeletions(tasks, session.getSeenVersion());
+            if (error != null) {
+                timer.markExecuted();
+                return new CommandResult(error, true);
+            }
+            int changeCount = tasks.getUnsavedChanges().size();
+            result = command.execute(tasks, storage);
+            timer.markExecuted();
+            session.setSeenVersion(tasks.getVersion());
+            List<TaskChange> changes = tasks.getUnsavedChanges();
+            if (command.isUndoable() && changes.size() > changeCount) {
+                history.record(session, command.getType(), List.copyOf(changes.subList(changeCount, changes.size())));
+            }
+            hasChanges = !changes.isEmpty();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        if (hasChanges) {
+            autosaver.requestSave();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of tasks in the list.
+     *
+     * @return The number of tasks.
+     */
+    public int getTaskCount() {
+        long stamp = lock.readLock();
+        try {
+            return tasks.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
-    public String getResponse(String input) {
-        Command command = new Parser().parseCommand(input.trim());
-        CommandResult output = command.execute(tasks, storage);
-        this.commandType = command.getType();
+    /**
+     * Saves the task list to its file.
+     *
+     * @throws IOException If the task list cannot be saved.
+     */
+    public void save() throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            storage.saveTasksToFile(tasks);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
 
-        return output.toString();
+    /**
+     * Saves any changes not saved yet and stops saving in the background.
+     * The command metrics are written out one last time.
+     *
+     * @throws IOException If the changes cannot be saved.
+     */
+    public void close() throws IOException {
+        try {
+            autosaver.close();
+        } finally {
+            metricsReporter.close();
+        }
     }
 
-    public String getCommandType() {
-        return commandType;
+    /**
+     * Returns how long the last full save of the task list took.
+     *
+     * @return The duration of the last save, or zero if there has not been one.
+     */
+    public Duration getLastSaveDuration() {
+        return storage.getLastSaveDuration();
     }
 }
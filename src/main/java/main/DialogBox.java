@@ -1,79 +1,78 @@
 package main;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ * The nodes are built in code rather than loaded from FXML, and a dialog box can be shown again with
+ * another message, so that the chat history can reuse a handful of them however long it grows.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
+    private static final String STYLESHEET = DialogBox.class.getResource("/css/dialog-box.css").toExternalForm();
 
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
 
-        dialog.setText(text);
-        displayPicture.setImage(img);
-    }
+    /**
+     * Constructs an empty dialog box, to be filled in with {@link #show(ChatMessage, Image)}.
+     */
+    public DialogBox() {
+        getStylesheets().add(STYLESHEET);
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPadding(new Insets(15, 5, 15, 5));
 
-    public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
-    }
-    public static DialogBox getCowDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        return db;
-    }
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        dialog.setWrapText(true);
+        dialog.setPadding(new Insets(6));
+        HBox.setMargin(dialog, new Insets(0, 7, 0, 7));
 
-    public static DialogBox getCowDialog(String text, Image img, String commandType) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        db.changeDialogStyle(commandType);
-        return db;
+        displayPicture.setId("displayPicture");
+        displayPicture.setFitHeight(99);
+        displayPicture.setFitWidth(99);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Shows a message in the dialog box, replacing whatever it showed before.
+     * Messages from the user have the picture on the right, and replies from Cow have it on the left.
+     *
+     * @param message The message to show.
+     * @param img     The picture of the speaker.
      */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
-        dialog.getStyleClass().add("reply-label");
+    public void show(ChatMessage message, Image img) {
+        dialog.setText(message.getText());
+        displayPicture.setImage(img);
+        dialog.getStyleClass().setAll("label");
+
+        if (message.isFromUser()) {
+            getChildren().setAll(dialog, displayPicture);
+            setAlignment(Pos.TOP_RIGHT);
+        } else {
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+            dialog.getStyleClass().add("reply-label");
+            changeDialogStyle(message.getCommandType());
+        }
     }
 
     private void changeDialogStyle(String commandType) {
         switch(commandType) {
-        case "AddCommand":
+        case "add":
             dialog.getStyleClass().add("add-label");
             break;
-        case "ChangeMarkCommand":
+        case "mark":
+        case "unmark":
             dialog.getStyleClass().add("marked-label");
             break;
-        case "DeleteCommand":
+        case "delete":
             dialog.getStyleClass().add("delete-label");
             break;
         default:
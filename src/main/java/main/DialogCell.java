@@ -0,0 +1,40 @@
+package main;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * Represents a row of the chat history.
+ * The list only creates enough cells to fill the window, and each cell keeps one {@link DialogBox}
+ * that is shown again with whichever message the cell is given.
+ */
+public class DialogCell extends ListCell<ChatMessage> {
+    private final DialogBox dialogBox = new DialogBox();
+    private final Image userImage;
+    private final Image cowImage;
+
+    /**
+     * Constructs a DialogCell.
+     *
+     * @param userImage The picture shown next to messages from the user.
+     * @param cowImage  The picture shown next to replies from Cow.
+     */
+    public DialogCell(Image userImage, Image cowImage) {
+        this.userImage = userImage;
+        this.cowImage = cowImage;
+        // Lets the cell take the width of the list, so that long messages wrap instead of scrolling sideways
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean empty) {
+        super.updateItem(message, empty);
+        if (empty || message == null) {
+            setGraphic(null);
+            return;
+        }
+
+        dialogBox.show(message, message.isFromUser() ? userImage : cowImage);
+        setGraphic(dialogBox);
+    }
+}
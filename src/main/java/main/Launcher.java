@@ -1,12 +1,25 @@
 package main;
 
 import javafx.application.Application;
+import tools.LoadTest;
+import tools.TaskFileGenerator;
 
 /**
  * A launcher class to workaround classpath issues.
+ * Started with "--batch [script]", it runs a script of commands without the GUI instead,
+ * reading from standard input if no script is given.
+ * Started with "--generate FILE" or "--load-test FILE", it runs one of the tools for trying out large task lists.
  */
 public class Launcher {
     public static void main(String[] args) {
+        // Each must return before JavaFX is touched, so that they work where there is no display
+        if (args.length > 0 && args[0].equals("--batch")) {
+            System.exit(BatchRunner.runScript(args.length > 1 ? args[1] : "-", Cow.DEFAULT_FILE_PATH));
+        } else if (args.length > 0 && args[0].equals("--generate")) {
+            System.exit(TaskFileGenerator.run(args, 1));
+        } else if (args.length > 0 && args[0].equals("--load-test")) {
+            System.exit(LoadTest.run(args, 1));
+        }
         Application.launch(Main.class, args);
     }
 }
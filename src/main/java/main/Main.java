@@ -12,7 +12,7 @@ import javafx.stage.Stage;
  * A GUI for Cow using FXML.
  */
 public class Main extends Application {
-    private final Cow cow = new Cow("data/cow.txt");
+    private final Cow cow = new Cow(Cow.DEFAULT_FILE_PATH);
 
     @Override
     public void start(Stage stage) {
@@ -29,4 +29,16 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Saves any changes not saved yet when the window is closed, whether or not the user said bye.
+     */
+    @Override
+    public void stop() {
+        try {
+            cow.close();
+        } catch (IOException e) {
+            System.err.println("Error saving tasks: " + e.getMessage());
+        }
+    }
 }
@@ -1,28 +1,48 @@
 package main;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 
 /**
  * Controller for the main GUI.
+ * Commands run one at a time, in the order they were entered, on a background thread,
+ * so that a slow command does not freeze the window.
+ * The chat history keeps only the latest messages, so that a long session does not keep using more memory.
  */
 public class MainWindow extends AnchorPane {
+    /** The number of messages kept in the chat history. */
+    private static final int MAX_MESSAGES = 1000;
+
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cow-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private ProgressIndicator busyIndicator;
 
+    private final ObservableList<ChatMessage> messages = FXCollections.observableArrayList();
     private Cow cow;
+    private int pendingCount;
+    private volatile boolean isExiting;
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
     private Image cowImage = new Image(this.getClass().getResourceAsStream("/images/DaDuke.png"));
@@ -30,11 +50,10 @@ public class MainWindow extends AnchorPane {
     /** Initialises the window and greets user*/
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setItems(messages);
+        dialogList.setCellFactory(list -> new DialogCell(userImage, cowImage));
 
-        dialogContainer.getChildren().add(
-                DialogBox.getCowDialog("Hello! I'm Cow. How can I assist you today?", cowImage, "greeting")
-        );
+        addMessage(ChatMessage.fromCow("Hello! I'm Cow. How can I assist you today?", "greeting"));
     }
 
     /** Injects the Cow instance */
@@ -43,22 +62,62 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Echoes the user input in the chat history and clears it, then runs the command in the background.
+     * Once it has run, Duke's reply is appended to the chat history on the JavaFX application thread.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = cow.getResponse(input);
-        String commandType = cow.getCommandType();
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getCowDialog(response, cowImage, commandType)
-        );
         userInput.clear();
+        if (isExiting) {
+            return;
+        }
+
+        addMessage(ChatMessage.fromUser(input));
+        setPendingCount(pendingCount + 1);
+        commandExecutor.execute(() -> {
+            if (isExiting) {
+                // Commands entered after an exit command are dropped
+                Platform.runLater(() -> setPendingCount(pendingCount - 1));
+                return;
+            }
+            Response response = runCommand(input);
+            isExiting = response.isExit();
+            Platform.runLater(() -> showResponse(response));
+        });
+    }
 
-        if (commandType.equals("exit")) {
+    private Response runCommand(String input) {
+        try {
+            return cow.getResponse(input);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            return new Response("Sorry, something went wrong: " + e.getMessage(), "incorrect", true);
+        }
+    }
+
+    private void showResponse(Response response) {
+        addMessage(ChatMessage.fromCow(response.getText(), response.getCommandType()));
+        setPendingCount(pendingCount - 1);
+
+        if (response.isExit()) {
             Platform.exit();
         }
     }
+
+    /**
+     * Appends a message to the chat history and scrolls to it, dropping the oldest messages once it is full.
+     */
+    private void addMessage(ChatMessage message) {
+        messages.add(message);
+        if (messages.size() > MAX_MESSAGES) {
+            messages.remove(0, messages.size() - MAX_MESSAGES);
+        }
+        dialogList.scrollTo(messages.size() - 1);
+    }
+
+    private void setPendingCount(int pendingCount) {
+        this.pendingCount = pendingCount;
+        busyIndicator.setVisible(pendingCount > 0);
+    }
 }
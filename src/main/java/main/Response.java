@@ -0,0 +1,56 @@
+package main;
+
+/**
+ * Represents Cow's reply to a single command: the text shown to the user and the type of the command.
+ * It is immutable, so it can be handed from the thread that ran the command to the one that displays it.
+ */
+public class Response {
+    private final String text;
+    private final String commandType;
+    private final boolean isFailure;
+
+    /**
+     * Constructs a Response.
+     *
+     * @param text        The text shown to the user.
+     * @param commandType The type of the command that was run.
+     * @param isFailure   Whether the command was not understood or could not be carried out.
+     */
+    public Response(String text, String commandType, boolean isFailure) {
+        this.text = text;
+        this.commandType = commandType;
+        this.isFailure = isFailure;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getCommandType() {
+        return commandType;
+    }
+
+    /**
+     * Returns whether the command asked to close the application.
+     *
+     * @return {@code true} if the command was an exit command.
+     */
+    public boolean isExit() {
+        return commandType.equals("exit");
+    }
+
+    /**
+     * Returns whether the command was not understood or could not be carried out,
+     * such as a delete of a task number that is out of range.
+     *
+     * @return {@code true} if the command failed.
+     */
+    public boolean isFailure() {
+        return isFailure;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
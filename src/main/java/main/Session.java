@@ -0,0 +1,27 @@
+package main;
+
+/**
+ * Represents one user of a shared {@link Cow}, such as the GUI window or a batch script.
+ * A session remembers which version of the task list its user last saw, so that task numbers they type
+ * keep referring to the tasks they saw even if another session has deleted tasks in the meantime.
+ */
+public class Session {
+    private volatile long seenVersion;
+
+    /**
+     * Constructs a Session whose user has seen the given version of the task list.
+     *
+     * @param seenVersion The version of the task list.
+     */
+    Session(long seenVersion) {
+        this.seenVersion = seenVersion;
+    }
+
+    long getSeenVersion() {
+        return seenVersion;
+    }
+
+    void setSeenVersion(long seenVersion) {
+        this.seenVersion = seenVersion;
+    }
+}
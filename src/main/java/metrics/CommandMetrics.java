@@ -0,0 +1,143 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the metrics of the commands run by one Cow instance, by command type.
+ * Recording takes a map lookup and a few atomic increments, so it is cheap enough to leave on all the time.
+ */
+public class CommandMetrics {
+    private static final com.sun.management.ThreadMXBean THREADS = allocationTracker();
+
+    private final ConcurrentHashMap<String, CommandStats> statsByType = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Starts timing a command that is about to be parsed.
+     *
+     * @return The timer, which records the command's metrics when it is finished.
+     */
+    public CommandTimer startTimer() {
+        return new CommandTimer(this);
+    }
+
+    /**
+     * Records how long one command took to parse, execute and render, and how long it took in all.
+     *
+     * @param type      The type of the command, as returned by {@code Command.getType()}.
+     * @param parse     The time taken to parse the command, in nanoseconds.
+     * @param execute   The time taken to execute it, in nanoseconds.
+     * @param render    The time taken to turn the result into the reply, in nanoseconds.
+     * @param total     The time taken from receiving the command to replying, in nanoseconds.
+     * @param allocated The bytes allocated while running it, or -1 if not known.
+     */
+    public void record(String type, long parse, long execute, long render, long total, long allocated) {
+        statsByType.computeIfAbsent(type, t -> new CommandStats()).record(parse, execute, render, total, allocated);
+    }
+
+    /**
+     * Returns the metrics recorded so far, by command type in alphabetical order.
+     * The metrics keep changing as more commands are recorded.
+     *
+     * @return The metrics of each command type that has been run.
+     */
+    public Map<String, CommandStats> getStatsByType() {
+        return new TreeMap<>(statsByType);
+    }
+
+    /**
+     * Returns how long metrics have been collected for.
+     *
+     * @return The time since this instance was created, in nanoseconds.
+     */
+    public long getUptimeNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Returns the number of bytes allocated so far by the current thread, so that the allocation of
+     * a piece of work can be found by reading it before and after.
+     *
+     * @return The number of bytes, or -1 if the JVM cannot measure allocation.
+     */
+    public static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Returns the metrics as a table, with one line per command type.
+     * Times are in milliseconds; allocation is the average per command.
+     *
+     * @return The table.
+     */
+    public String format() {
+        Map<String, CommandStats> stats = getStatsByType();
+        if (stats.isEmpty()) {
+            return "No commands have been run yet.";
+        }
+
+        double seconds = getUptimeNanos() / 1e9;
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-12s %8s %8s %9s %9s %9s %9s %9s %9s %10s",
+                "command", "count", "per sec", "p50 ms", "p99 ms", "max ms",
+                "parse ms", "exec ms", "render ms", "alloc KB"));
+        for (Map.Entry<String, CommandStats> entry : stats.entrySet()) {
+            CommandStats stat = entry.getValue();
+            LatencyHistogram total = stat.getTotalNanos();
+            long allocated = stat.getMeanAllocatedBytes();
+            table.append(String.format("%n%-12s %8d %8.2f %9.3f %9.3f %9.3f %9.3f %9.3f %9.3f %10s",
+                    entry.getKey(), stat.getCount(), stat.getCount() / seconds,
+                    total.getValueAtPercentile(50) / 1e6, total.getValueAtPercentile(99) / 1e6,
+                    total.getMax() / 1e6, stat.getParseNanos().getMean() / 1e6,
+                    stat.getExecuteNanos().getMean() / 1e6, stat.getRenderNanos().getMean() / 1e6,
+                    allocated < 0 ? "n/a" : String.format("%.1f", allocated / 1024.0)));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Returns the metrics as a JSON object, with all times in nanoseconds.
+     *
+     * @return The JSON text.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"uptimeNanos\": ").append(getUptimeNanos()).append(",\n  \"commands\": {");
+        String separator = "\n";
+        for (Map.Entry<String, CommandStats> entry : getStatsByType().entrySet()) {
+            CommandStats stat = entry.getValue();
+            json.append(separator).append("    \"").append(entry.getKey()).append("\": {")
+                    .append("\"count\": ").append(stat.getCount())
+                    .append(", \"meanAllocatedBytes\": ").append(stat.getMeanAllocatedBytes());
+            appendHistogram(json, "parse", stat.getParseNanos());
+            appendHistogram(json, "execute", stat.getExecuteNanos());
+            appendHistogram(json, "render", stat.getRenderNanos());
+            appendHistogram(json, "total", stat.getTotalNanos());
+            json.append('}');
+            separator = ",\n";
+        }
+        return json.append("\n  }\n}\n").toString();
+    }
+
+    private static void appendHistogram(StringBuilder json, String name, LatencyHistogram histogram) {
+        json.append(", \"").append(name).append("\": {")
+                .append("\"mean\": ").append(Math.round(histogram.getMean()))
+                .append(", \"p50\": ").append(histogram.getValueAtPercentile(50))
+                .append(", \"p90\": ").append(histogram.getValueAtPercentile(90))
+                .append(", \"p99\": ").append(histogram.getValueAtPercentile(99))
+                .append(", \"p999\": ").append(histogram.getValueAtPercentile(99.9))
+                .append(", \"max\": ").append(histogram.getMax())
+                .append('}');
+    }
+
+    private static com.sun.management.ThreadMXBean allocationTracker() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the metrics of one type of command: how long it took to parse, execute and render,
+ * how long it took in all, including any wait for the task list, and how much memory it allocated.
+ */
+public final class CommandStats {
+    private final LatencyHistogram parseNanos = new LatencyHistogram();
+    private final LatencyHistogram executeNanos = new LatencyHistogram();
+    private final LatencyHistogram renderNanos = new LatencyHistogram();
+    private final LatencyHistogram totalNanos = new LatencyHistogram();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder allocationCount = new LongAdder();
+
+    void record(long parse, long execute, long render, long total, long allocated) {
+        parseNanos.record(parse);
+        executeNanos.record(execute);
+        renderNanos.record(render);
+        totalNanos.record(total);
+        if (allocated >= 0) {
+            allocatedBytes.add(allocated);
+            allocationCount.increment();
+        }
+    }
+
+    public LatencyHistogram getParseNanos() {
+        return parseNanos;
+    }
+
+    public LatencyHistogram getExecuteNanos() {
+        return executeNanos;
+    }
+
+    public LatencyHistogram getRenderNanos() {
+        return renderNanos;
+    }
+
+    public LatencyHistogram getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getCount() {
+        return totalNanos.getCount();
+    }
+
+    /**
+     * Returns the average number of bytes allocated by the thread running a command of this type.
+     *
+     * @return The average, or -1 if the JVM cannot measure allocation.
+     */
+    public long getMeanAllocatedBytes() {
+        long count = allocationCount.sum();
+        return count == 0 ? -1 : allocatedBytes.sum() / count;
+    }
+}
@@ -0,0 +1,56 @@
+package metrics;
+
+/**
+ * Times the phases of running one command, and records them in the command metrics once the reply is ready.
+ * Time spent between parsing and executing, such as waiting for the task list to be free,
+ * counts towards the total only.
+ */
+public final class CommandTimer {
+    private final CommandMetrics metrics;
+    private final long startNanos;
+    private final long startAllocatedBytes;
+    private long parsedNanos;
+    private long executeStartNanos;
+    private long executedNanos;
+
+    CommandTimer(CommandMetrics metrics) {
+        this.metrics = metrics;
+        this.startAllocatedBytes = CommandMetrics.currentThreadAllocatedBytes();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of parsing.
+     */
+    public void markParsed() {
+        parsedNanos = System.nanoTime();
+    }
+
+    /**
+     * Marks the start of execution.
+     */
+    public void markExecuteStarted() {
+        executeStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of execution.
+     */
+    public void markExecuted() {
+        executedNanos = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of rendering the reply and records the command's metrics.
+     * Only memory allocated by the thread running the command is counted.
+     *
+     * @param type The type of the command.
+     */
+    public void finish(String type) {
+        long endNanos = System.nanoTime();
+        long allocated = startAllocatedBytes < 0 ? -1
+                : CommandMetrics.currentThreadAllocatedBytes() - startAllocatedBytes;
+        metrics.record(type, parsedNanos - startNanos, executedNanos - executeStartNanos,
+                endNanos - executedNanos, endNanos - startNanos, allocated);
+    }
+}
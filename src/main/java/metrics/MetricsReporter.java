@@ -0,0 +1,70 @@
+package metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes command metrics to a JSON file on a background thread at a fixed interval, and once more when closed.
+ * Each dump replaces the file as a whole, so a reader never sees a half-written file.
+ */
+public class MetricsReporter {
+    /** The interval used when none is given. */
+    public static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(1);
+
+    private final CommandMetrics metrics;
+    private final Path path;
+    private final Path tempPath;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Constructs a MetricsReporter that writes the given metrics to the given file at the given interval.
+     *
+     * @param metrics  The metrics to write.
+     * @param path     The file the metrics are written to.
+     * @param interval How often to write the metrics.
+     */
+    public MetricsReporter(CommandMetrics metrics, Path path, Duration interval) {
+        this.metrics = metrics;
+        this.path = path;
+        this.tempPath = Path.of(path + ".tmp");
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cow-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = interval.toNanos();
+        executor.scheduleAtFixedRate(this::dump, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Writes the metrics once more, if any commands have been run, and stops the background thread.
+     */
+    public void close() {
+        executor.shutdown();
+        dump();
+    }
+
+    private synchronized void dump() {
+        if (metrics.getStatsByType().isEmpty()) {
+            return;
+        }
+        try {
+            Files.writeString(tempPath, metrics.toJson(), StandardCharsets.UTF_8);
+            try {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+}
@@ -3,19 +3,32 @@ package parser;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 
 import commands.AddCommand;
 import commands.Command;
+import commands.CommandHistory;
+import commands.DateQueryCommand;
 import commands.DeleteCommand;
 import commands.ExitCommand;
+import commands.ExportCommand;
 import commands.FindCommand;
+import commands.ImportCommand;
 import commands.IncorrectCommand;
 import commands.ListCommand;
 import commands.MarkCommand;
+import commands.RedoCommand;
+import commands.StatsCommand;
+import commands.TaskSelection;
+import commands.UndoCommand;
 import commands.UnknownCommand;
 import commands.UnmarkCommand;
+import metrics.CommandMetrics;
+import task.DateTimeFormats;
 import task.Deadline;
 import task.Event;
 import task.Task;
@@ -27,75 +40,283 @@ import task.Todo;
  * into LocalDateTime objects.
  */
 public class Parser {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("d M yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HHmm");
+
+    private static final String LIMIT_OPTION = "--limit";
+    private static final String BEFORE_WORD = "before";
+
+    private static final String[] COMMAND_WORDS = {
+        "bye", "exit", "close", "list", "find", "delete", "mark", "unmark",
+        "todo", "deadline", "event", "due", "between", "overlapping", "export", "import", "stats",
+        "undo", "redo"
+    };
+
+    private final CommandMetrics metrics;
+    private final CommandHistory history;
+
+    /**
+     * Constructs a Parser whose stats, undo and redo commands use metrics and a history that nothing records in.
+     */
+    public Parser() {
+        this(new CommandMetrics(), new CommandHistory());
+    }
+
+    /**
+     * Constructs a Parser whose stats command reports the given metrics,
+     * and whose undo and redo commands step through the given history.
+     *
+     * @param metrics The metrics of the commands run.
+     * @param history The history of the commands that changed the task list.
+     */
+    public Parser(CommandMetrics metrics, CommandHistory history) {
+        this.metrics = metrics;
+        this.history = history;
+    }
+
     /**
      * Parses user input into command for execution.
+     * The input is scanned once by position: the command word is matched in place, and indices and dates are read
+     * straight from the input, so only the strings kept by the command (such as a description) are created.
      *
      * @param userInput full user input string
      * @return the command based on the user input
      */
     public Command parseCommand(String userInput) {
-        String[] parts = userInput.split(" ", 2);
-        trimArray(parts);
-        String commandType = parts[0].toLowerCase();
-        String arguments = parts.length > 1 ? parts[1] : "";
+        return parseCommand(userInput, null);
+    }
+
+    /**
+     * Parses user input entered in the given session into command for execution.
+     * Undo and redo commands only step over history entries recorded for the same session.
+     *
+     * @param userInput full user input string
+     * @param session   the session the input was entered in, or {@code null} if there is none
+     * @return the command based on the user input
+     */
+    public Command parseCommand(String userInput, Object session) {
+        int length = userInput.length();
+        int wordEnd = userInput.indexOf(' ');
+        if (wordEnd == -1) {
+            wordEnd = length;
+        }
+        int wordStart = skipBlanks(userInput, 0, wordEnd);
+        String commandType = matchCommandWord(userInput, wordStart, trimEnd(userInput, wordStart, wordEnd));
+
+        int start = wordEnd < length ? skipBlanks(userInput, wordEnd + 1, length) : length;
+        int end = trimEnd(userInput, start, length);
+        if (commandType == null) {
+            return handleUnknown(); // TODO change to help command?
+        }
 
         return switch (commandType) {
         case "bye", "exit", "close" -> handleExit();
-        case "list" -> handleList();
-        case "find" -> handleFind(arguments);
-        case "delete" -> handleDelete(arguments);
-        case "unmark", "mark" -> handleMarkUnmark(commandType, arguments);
-        case "todo", "deadline", "event" -> handleAdd(commandType, arguments);
-        default -> handleUnknown(); // TODO change to help command?
+        case "list" -> handleList(userInput, start, end);
+        case "find" -> handleFind(userInput.substring(start, end));
+        case "delete" -> handleDelete(userInput, start, end);
+        case "unmark", "mark" -> handleMarkUnmark(commandType, userInput, start, end);
+        case "todo", "deadline", "event" -> handleAdd(commandType, userInput, start, end);
+        case "due" -> handleDue(userInput, start, end);
+        case "between", "overlapping" -> handleDateRange(commandType, userInput, start, end);
+        case "export", "import" -> handleTransfer(commandType, userInput.substring(start, end));
+        case "stats" -> new StatsCommand(metrics);
+        case "undo" -> new UndoCommand(history, session);
+        case "redo" -> new RedoCommand(history, session);
+        default -> handleUnknown();
         };
     }
 
+    /**
+     * Matches the command word between the given positions against the known commands, ignoring case.
+     *
+     * @return The command word in lower case, or {@code null} if it is not a known command.
+     */
+    private static String matchCommandWord(String input, int start, int end) {
+        int length = end - start;
+        for (String word : COMMAND_WORDS) {
+            if (word.length() == length && input.regionMatches(true, start, word, 0, length)) {
+                return word;
+            }
+        }
+        return null;
+    }
+
     private Command handleExit() {
         return new ExitCommand();
     }
 
-    private Command handleList() {
-        return new ListCommand();
+    private Command handleList(String input, int start, int end) {
+        if (start == end) {
+            return new ListCommand();
+        }
+
+        int page = -1;
+        int limit = -1;
+        for (int tokenStart = start; tokenStart < end; tokenStart = skipBlanks(input, tokenStart, end)) {
+            int tokenEnd = nextBlank(input, tokenStart, end);
+            int nextStart = skipBlanks(input, tokenEnd, end);
+            boolean isLimit = tokenEnd - tokenStart == LIMIT_OPTION.length()
+                    && input.startsWith(LIMIT_OPTION, tokenStart);
+            if (isLimit && nextStart < end && limit == -1) {
+                tokenEnd = nextBlank(input, nextStart, end);
+                limit = parsePositiveInt(input, nextStart, tokenEnd);
+                if (limit == -1) {
+                    return invalidListCommand();
+                }
+            } else if (page == -1) {
+                page = parsePositiveInt(input, tokenStart, tokenEnd);
+                if (page == -1) {
+                    return invalidListCommand();
+                }
+            } else {
+                return invalidListCommand();
+            }
+            tokenStart = tokenEnd;
+        }
+
+        return new ListCommand(page == -1 ? 1 : page, limit == -1 ? ListCommand.DEFAULT_PAGE_SIZE : limit);
+    }
+
+    private Command invalidListCommand() {
+        return new IncorrectCommand("Error: Please enter a valid page number or limit for list request.\n"
+            + "Format for List is: list [page] [--limit <count>]");
     }
 
     private Command handleFind(String arguments) {
         return new FindCommand(arguments);
     }
 
-    private Command handleDelete(String stringIndex) {
-        int index = parseIndex(stringIndex);
-        if (index == -1) {
+    private Command handleDelete(String input, int start, int end) {
+        TaskSelection selection = parseSelection(input, start, end);
+        if (selection == null) {
             return new IncorrectCommand("Please enter a valid index for delete request.");
         }
-        return new DeleteCommand(index);
+        return new DeleteCommand(selection);
     }
 
-    private Command handleMarkUnmark(String commandType, String stringIndex) {
-        int index = parseIndex(stringIndex);
-        if (index == -1) {
+    private Command handleMarkUnmark(String commandType, String input, int start, int end) {
+        TaskSelection selection = parseSelection(input, start, end);
+        if (selection == null) {
             return new IncorrectCommand("Please enter a valid index for " + commandType + " request.");
         }
 
         if (commandType.equals("mark")) {
-            return new MarkCommand(index);
+            return new MarkCommand(selection);
         }
-        return new UnmarkCommand(index);
+        return new UnmarkCommand(selection);
     }
 
-    private Command handleAdd(String taskType, String arguments) {
-        if (arguments.isEmpty()) {
+    private Command handleAdd(String taskType, String input, int start, int end) {
+        if (start == end) {
             return new IncorrectCommand("Error: Please provide a description for " + taskType + " task.");
         }
 
         return switch (taskType) {
-        case "todo" -> handleTodo(arguments);
-        case "deadline" -> handleDeadline(arguments);
-        case "event" -> handleEvent(arguments);
+        case "todo" -> handleTodo(input.substring(start, end));
+        case "deadline" -> handleDeadline(input, start, end);
+        case "event" -> handleEvent(input, start, end);
         // This line is not supposed to be reached
         default -> throw new RuntimeException("Unknown task type - " + taskType);
         };
     }
 
+    private Command handleDue(String input, int start, int end) {
+        int wordEnd = nextBlank(input, start, end);
+        int dateStart = skipBlanks(input, wordEnd, end);
+        boolean isBefore = wordEnd - start == BEFORE_WORD.length()
+                && input.regionMatches(true, start, BEFORE_WORD, 0, BEFORE_WORD.length());
+        if (!isBefore || dateStart == end) {
+            return new IncorrectCommand("Error: Missing date.\n"
+                + "Format for Due is: due before <date>");
+        }
+
+        try {
+            return new DateQueryCommand(Parser.parseDateTime(input, dateStart, end));
+        } catch (DateTimeParseException e) {
+            return new IncorrectCommand(e.getMessage());
+        }
+    }
+
+    private Command handleDateRange(String commandType, String input, int start, int end) {
+        int[] bounds = splitDateTimes(input, start, end);
+        if (bounds == null) {
+            return new IncorrectCommand("Error: Missing dates.\n"
+                + "Format for " + commandType + " is: " + commandType + " <fromDate> <toDate>");
+        }
+
+        LocalDateTime fromDate;
+        LocalDateTime toDate;
+        try {
+            fromDate = Parser.parseDateTime(input, bounds[0], bounds[1]);
+            toDate = Parser.parseDateTime(input, bounds[2], bounds[3]);
+        } catch (DateTimeParseException e) {
+            return new IncorrectCommand(e.getMessage());
+        }
+
+        if (nextBlank(input, bounds[2], bounds[3]) == bounds[3]) {
+            // A date without a time covers the whole of that day
+            toDate = toDate.toLocalDate().atTime(23, 59);
+        }
+        if (toDate.isBefore(fromDate)) {
+            return new IncorrectCommand("Error: The second date cannot be before the first date.");
+        }
+
+        DateQueryCommand.Query query = commandType.equals("between")
+            ? DateQueryCommand.Query.BETWEEN
+            : DateQueryCommand.Query.OVERLAPPING;
+        return new DateQueryCommand(query, fromDate, toDate);
+    }
+
+    /**
+     * Finds the two date-times in arguments such as "1/12/2023 09:00 2/12/2023", by position.
+     * A token containing '/' or '-' starts a new date, and a token without them is the time of that date.
+     *
+     * @param input The text holding the arguments.
+     * @param start The position the arguments start at.
+     * @param end   The position the arguments end at (exclusive).
+     * @return The start and end of the first date-time followed by those of the second,
+     *         or {@code null} if the arguments do not hold exactly two dates.
+     */
+    private static int[] splitDateTimes(String input, int start, int end) {
+        int[] bounds = new int[4];
+        int count = 0;
+        boolean hasTime = false;
+
+        for (int tokenStart = skipBlanks(input, start, end); tokenStart < end;
+                tokenStart = skipBlanks(input, tokenStart, end)) {
+            int tokenEnd = nextBlank(input, tokenStart, end);
+            boolean isDate = false;
+            for (int i = tokenStart; i < tokenEnd && !isDate; i++) {
+                isDate = input.charAt(i) == '/' || input.charAt(i) == '-';
+            }
+            if (isDate && count < 2) {
+                bounds[count * 2] = tokenStart;
+                bounds[count * 2 + 1] = tokenEnd;
+                count++;
+                hasTime = false;
+            } else if (!isDate && count > 0 && !hasTime) {
+                bounds[count * 2 - 1] = tokenEnd;
+                hasTime = true;
+            } else {
+                return null;
+            }
+            tokenStart = tokenEnd;
+        }
+        return count == 2 ? bounds : null;
+    }
+
+    private Command handleTransfer(String commandType, String fileName) {
+        if (fileName.isEmpty()) {
+            return new IncorrectCommand("Error: Please provide a file to " + commandType + ".\n"
+                + "Format for " + commandType + " is: " + commandType + " <file>");
+        }
+
+        if (commandType.equals("export")) {
+            return new ExportCommand(fileName);
+        }
+        return new ImportCommand(fileName);
+    }
+
     private Command handleUnknown() {
         return new UnknownCommand("Sorry, I don't know what that means.");
     }
@@ -104,79 +325,224 @@ public class Parser {
         return new AddCommand("todo", description, false);
     }
 
-    private Command handleDeadline(String arguments) {
-        String[] parts = arguments.split("/by", 2);
-        if (parts.length < 2) {
+    private Command handleDeadline(String input, int start, int end) {
+        int byIndex = input.indexOf("/by", start);
+        if (byIndex == -1 || byIndex >= end) {
             return new IncorrectCommand("Error: Missing deadline.\n"
                 + "Format for Deadline is : deadline <description> /by <deadline>");
         }
 
-        String description = parts[0].trim();
+        String description = substringTrimmed(input, start, byIndex);
         LocalDateTime deadline;
         try {
-            deadline = Parser.parseDateTime(parts[1].trim());
+            deadline = Parser.parseDateTime(input, byIndex + 3, end);
         } catch (DateTimeParseException e) {
             return new IncorrectCommand(e.getMessage());
         }
         return new AddCommand("deadline", description, false, deadline);
     }
 
-    private Command handleEvent(String arguments) {
-        int fromIndex = arguments.indexOf("/from");
-        int toIndex = arguments.indexOf("/to");
+    private Command handleEvent(String input, int start, int end) {
+        int fromIndex = input.indexOf("/from", start);
+        int toIndex = input.indexOf("/to", start);
+
+        if (!isValidEventFormat(fromIndex, toIndex, end)) {
+            return missingEventDates();
+        }
 
-        if (!isValidEventFormat(fromIndex, toIndex)) {
-            return new IncorrectCommand("Error: Missing from date / to date.\n"
-                + "Format for Event is: event <description> /from <fromDate> /to <toDate>");
+        // The dates start after "/from " and "/to "
+        int fromStart = Math.min(fromIndex + 6, end);
+        int toStart = Math.min(toIndex + 4, end);
+        if (toIndex < fromStart || isBlank(input, fromStart, toIndex) || isBlank(input, toStart, end)) {
+            return missingEventDates();
         }
 
-        String description = parseDescription(arguments, fromIndex);
-        String fromString = parseDateString(arguments, fromIndex + 6, toIndex);
-        String toString = parseDateString(arguments, toIndex + 4, arguments.length());
+        String description = substringTrimmed(input, start, fromIndex);
+        try {
+            LocalDateTime fromDate = Parser.parseDateTime(input, fromStart, toIndex);
+            LocalDateTime toDate = Parser.parseDateTime(input, toStart, end);
 
-        if (fromString.isEmpty() || toString.isEmpty()) {
-            return new IncorrectCommand("Error: Missing from date / to date.\n"
-                + "Format for Event is: event <description> /from <fromDate> /to <toDate>");
+            if (toDate.isBefore(fromDate)) {
+                return new IncorrectCommand("Error: /to date cannot be before /from date for Event task");
+            }
+            return new AddCommand("event", description, false, fromDate, toDate);
+        } catch (DateTimeParseException e) {
+            return new IncorrectCommand(e.getMessage());
         }
+    }
 
-        return parseAndCreateEvent(description, fromString, toString);
+    private boolean isValidEventFormat(int fromIndex, int toIndex, int end) {
+        return fromIndex != -1 && toIndex != -1 && fromIndex < end && toIndex < end;
     }
 
-    private boolean isValidEventFormat(int fromIndex, int toIndex) {
-        return fromIndex != -1 && toIndex != -1;
+    private Command missingEventDates() {
+        return new IncorrectCommand("Error: Missing from date / to date.\n"
+            + "Format for Event is: event <description> /from <fromDate> /to <toDate>");
     }
 
-    private int parseIndex(String stringIndex) {
-        try {
-            return Integer.parseInt(stringIndex) - 1;
-        } catch (NumberFormatException e) {
+    /**
+     * Parses a comma-separated list of 1-based indices, ranges and task IDs, such as "3,7,10-200,#42",
+     * lying between the given positions of the input.
+     *
+     * @param input The input entered by the user.
+     * @param start The position the indices start at.
+     * @param end   The position the indices end at (exclusive).
+     * @return The selected positions, or {@code null} if the input is not a valid list of indices.
+     */
+    private TaskSelection parseSelection(String input, int start, int end) {
+        // Trailing commas are ignored, as a stray one is easy to type
+        while (end > start && input.charAt(end - 1) == ',') {
+            end--;
+        }
+
+        int count = 1;
+        for (int i = start; i < end; i++) {
+            if (input.charAt(i) == ',') {
+                count++;
+            }
+        }
+        int[] starts = new int[count];
+        int[] ends = new int[count];
+        long[] ids = new long[count];
+        int rangeCount = 0;
+        int idCount = 0;
+
+        int itemStart = start;
+        for (int i = 0; i < count; i++) {
+            int itemEnd = input.indexOf(',', itemStart);
+            if (itemEnd == -1 || itemEnd > end) {
+                itemEnd = end;
+            }
+            int first = skipBlanks(input, itemStart, itemEnd);
+            int last = trimEnd(input, first, itemEnd);
+            itemStart = itemEnd + 1;
+            if (first < last && input.charAt(first) == '#') {
+                long id = parseId(input, first + 1, last);
+                if (id <= 0) {
+                    return null;
+                }
+                ids[idCount++] = id;
+                continue;
+            }
+
+            int dashIndex = first < last ? input.indexOf('-', first + 1) : -1;
+            if (dashIndex >= last) {
+                dashIndex = -1;
+            }
+
+            int rangeStart = parseIndex(input, first, dashIndex == -1 ? last : dashIndex);
+            int rangeEnd = dashIndex == -1 ? rangeStart : parseIndex(input, dashIndex + 1, last);
+            if (rangeStart < 0 || rangeEnd < rangeStart) {
+                return null;
+            }
+            starts[rangeCount] = rangeStart;
+            ends[rangeCount] = rangeEnd;
+            rangeCount++;
+        }
+        if (idCount == 0) {
+            return new TaskSelection(starts, ends);
+        }
+        return new TaskSelection(Arrays.copyOf(starts, rangeCount), Arrays.copyOf(ends, rangeCount),
+                Arrays.copyOf(ids, idCount));
+    }
+
+    /**
+     * Parses a task ID, the digits after '#', between the given positions of the input.
+     *
+     * @return The ID, or -1 if the text is not a valid ID.
+     */
+    private long parseId(String input, int start, int end) {
+        if (start == end || end - start > 18) {
             return -1;
         }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
     }
 
-    private String parseDescription(String arguments, int fromIndex) {
-        return arguments.substring(0, fromIndex).trim();
+    /**
+     * Parses a positive number between the given positions of the input.
+     *
+     * @return The number, or -1 if the text is not a positive number.
+     */
+    private int parsePositiveInt(String input, int start, int end) {
+        int index = parseIndex(input, start, end);
+        return index == -1 ? -1 : index + 1;
     }
 
-    private String parseDateString(String arguments, int start, int end) {
-        if (start >= arguments.length()) {
-            return "";
+    /**
+     * Parses a 1-based index between the given positions of the input, ignoring surrounding blanks.
+     *
+     * @return The 0-based index, or -1 if the text is not a valid index.
+     */
+    private int parseIndex(String input, int start, int end) {
+        start = skipBlanks(input, start, end);
+        end = trimEnd(input, start, end);
+        if (start < end && input.charAt(start) == '+') {
+            start++;
+        }
+        if (start == end) {
+            return -1;
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE) {
+                return -1;
+            }
         }
-        return arguments.substring(start, end).trim();
+        return (int) value - 1;
     }
 
-    private Command parseAndCreateEvent(String description, String fromString, String toString) {
-        try {
-            LocalDateTime fromDate = Parser.parseDateTime(fromString);
-            LocalDateTime toDate = Parser.parseDateTime(toString);
+    private static String substringTrimmed(String input, int start, int end) {
+        start = skipBlanks(input, start, end);
+        return input.substring(start, trimEnd(input, start, end));
+    }
 
-            if (toDate.isBefore(fromDate)) {
-                return new IncorrectCommand("Error: /to date cannot be before /from date for Event task");
-            }
-            return new AddCommand("event", description, false, fromDate, toDate);
-        } catch (DateTimeParseException e) {
-            return new IncorrectCommand(e.getMessage());
+    private static boolean isBlank(CharSequence input, int start, int end) {
+        return skipBlanks(input, start, end) >= end;
+    }
+
+    /**
+     * Returns the first position from {@code start} that is not a blank, in the sense of {@link String#trim()}.
+     */
+    private static int skipBlanks(CharSequence input, int start, int end) {
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
         }
+        return start;
+    }
+
+    /**
+     * Returns the first position from {@code start} that is a blank, or {@code end} if there is none.
+     */
+    private static int nextBlank(CharSequence input, int start, int end) {
+        while (start < end && input.charAt(start) > ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the position just after the last character before {@code end} that is not a blank.
+     */
+    private static int trimEnd(CharSequence input, int start, int end) {
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
     }
 
     /**
@@ -199,11 +565,11 @@ public class Parser {
             case "T":
                 return new Todo(description, isDone);
             case "D":
-                LocalDateTime deadline = Parser.parseDateTime(parts[3]);
+                LocalDateTime deadline = parseStoredDateTime(parts[3]);
                 return new Deadline(description, isDone, deadline);
             case "E":
-                LocalDateTime fromDate = Parser.parseDateTime(parts[3]);
-                LocalDateTime toDate = Parser.parseDateTime(parts[4]);
+                LocalDateTime fromDate = parseStoredDateTime(parts[3]);
+                LocalDateTime toDate = parseStoredDateTime(parts[4]);
                 return new Event(description, isDone, fromDate, toDate);
             default:
                 throw new IllegalArgumentException("Unknown task type: " + taskType);
@@ -213,6 +579,18 @@ public class Parser {
         }
     }
 
+    /**
+     * Parses a date-time read from storage, taking the fast path for the "dd/MM/yyyy HH:mm" storage format.
+     *
+     * @param input The date-time string to be parsed.
+     * @return A LocalDateTime object representing the parsed date and time.
+     * @throws DateTimeParseException If the input string does not match any accepted format.
+     */
+    private static LocalDateTime parseStoredDateTime(String input) throws DateTimeParseException {
+        LocalDateTime dateTime = DateTimeFormats.parseStorage(input);
+        return dateTime != null ? dateTime : Parser.parseDateTime(input);
+    }
+
     /**
      * Parses a date-time string into a LocalDateTime object.
      *
@@ -221,36 +599,148 @@ public class Parser {
      * @throws DateTimeParseException If the input string does not match the expected format.
      */
     public static LocalDateTime parseDateTime(String input) throws DateTimeParseException {
-        input = input.replaceAll("[-/]", " ");
-        String[] parts = input.split("\\s+");
+        LocalDateTime dateTime = parseCommonDateTime(input, 0, input.length());
+        if (dateTime != null) {
+            return dateTime;
+        }
 
-        if (parts.length < 3) {
+        // The fields are the runs of characters between '/', '-' and blanks, and any after the time are ignored
+        int length = input.length();
+        int dayEnd = nextDateSeparator(input, 0, length);
+        int monthStart = skipDateSeparators(input, dayEnd, length);
+        int monthEnd = nextDateSeparator(input, monthStart, length);
+        int yearStart = skipDateSeparators(input, monthEnd, length);
+        int yearEnd = nextDateSeparator(input, yearStart, length);
+        if (yearStart == length) {
             throw new DateTimeParseException("Invalid format. Expected: d/M/yyyy or dd/MM/yyyy [HH:mm]", input, 0);
         }
 
-        LocalDateTime dateTime = parseDate(parts);
-        // Parse userInput to get time, if its provided
-        if (parts.length > 3) {
-            LocalTime time = parseTime(parts[3]);
+        dateTime = parseDate(input.substring(0, dayEnd) + " " + input.substring(monthStart, monthEnd) + " "
+                + input.substring(yearStart, yearEnd));
+        int timeStart = skipDateSeparators(input, yearEnd, length);
+        if (timeStart < length) {
+            LocalTime time = parseTime(input.substring(timeStart, nextDateSeparator(input, timeStart, length)));
             dateTime = LocalDateTime.of(dateTime.toLocalDate(), time);
         }
         return dateTime;
     }
 
-    private static LocalDateTime parseDate(String[] parts) throws DateTimeParseException {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("d M yyyy");
+    /**
+     * Parses the date-time lying between the given positions of the input, ignoring surrounding blanks.
+     * Only input that is not a plain date-time is copied out and handed to {@link #parseDateTime(String)}.
+     *
+     * @param input The text holding the date-time.
+     * @param start The position the date-time starts at.
+     * @param end   The position the date-time ends at (exclusive).
+     * @return A LocalDateTime object representing the parsed date and time.
+     * @throws DateTimeParseException If the date-time does not match the expected format.
+     */
+    private static LocalDateTime parseDateTime(String input, int start, int end) throws DateTimeParseException {
+        start = skipBlanks(input, start, end);
+        end = trimEnd(input, start, end);
+        LocalDateTime dateTime = parseCommonDateTime(input, start, end);
+        return dateTime != null ? dateTime : Parser.parseDateTime(input.substring(start, end));
+    }
+
+    /**
+     * Parses the date-time forms users normally type, such as "1/12/2023", "01-12-2023 18:00" or "1/12/2023 1800",
+     * by reading digits straight from the input.
+     * Anything else, including every invalid date-time, gets {@code null} so that the general parser can
+     * handle it and report the error.
+     *
+     * @return The date-time, or {@code null} if the text is not a plain date-time.
+     */
+    private static LocalDateTime parseCommonDateTime(CharSequence input, int start, int end) {
+        int dayDigits = countDigits(input, start, end);
+        int monthStart = skipDateSeparators(input, start + dayDigits, end);
+        int monthDigits = countDigits(input, monthStart, end);
+        int yearStart = skipDateSeparators(input, monthStart + monthDigits, end);
+        int yearDigits = countDigits(input, yearStart, end);
+        if (dayDigits < 1 || dayDigits > 2 || monthDigits < 1 || monthDigits > 2 || yearDigits != 4
+                || monthStart == start + dayDigits || yearStart == monthStart + monthDigits) {
+            return null;
+        }
+
+        int day = readDigits(input, start, dayDigits);
+        int month = readDigits(input, monthStart, monthDigits);
+        int year = readDigits(input, yearStart, yearDigits);
+        int hour = 0;
+        int minute = 0;
+
+        int dateEnd = yearStart + yearDigits;
+        if (dateEnd < end) {
+            int timeStart = skipDateSeparators(input, dateEnd, end);
+            int timeDigits = countDigits(input, timeStart, end);
+            boolean hasColon = timeDigits == 2 && timeStart + 2 < end && input.charAt(timeStart + 2) == ':'
+                && countDigits(input, timeStart + 3, end) == 2;
+            int timeEnd = timeStart + (hasColon ? 5 : 4);
+            if (timeStart == dateEnd || (timeDigits != 4 && !hasColon) || timeEnd != end) {
+                return null;
+            }
+            hour = readDigits(input, timeStart, 2);
+            minute = readDigits(input, timeEnd - 2, 2);
+        }
+
+        // Days past the end of the month are left to the general parser, which moves them back
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))
+                || hour > 23 || minute > 59) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    private static int countDigits(CharSequence input, int start, int end) {
+        int i = start;
+        while (i < end && input.charAt(i) >= '0' && input.charAt(i) <= '9') {
+            i++;
+        }
+        return i - start;
+    }
+
+    private static int readDigits(CharSequence input, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            value = value * 10 + input.charAt(i) - '0';
+        }
+        return value;
+    }
+
+    /**
+     * Returns the first position from {@code start} that is not '/', '-' or whitespace.
+     */
+    private static int skipDateSeparators(CharSequence input, int start, int end) {
+        while (start < end && isDateSeparator(input.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the first position from {@code start} that is '/', '-' or whitespace, or {@code end} if there is none.
+     */
+    private static int nextDateSeparator(CharSequence input, int start, int end) {
+        while (start < end && !isDateSeparator(input.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static boolean isDateSeparator(char c) {
+        return c == '/' || c == '-' || c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static LocalDateTime parseDate(String date) throws DateTimeParseException {
         try {
-            return LocalDate.parse(parts[0] + " " + parts[1] + " " + parts[2], dateFormatter).atStartOfDay();
+            return LocalDate.parse(date, DATE_FORMATTER).atStartOfDay();
         } catch (DateTimeParseException e) {
-            throw new DateTimeParseException("Invalid date format.", String.join(" ", parts), 0);
+            throw new DateTimeParseException("Invalid date format.", date, 0);
         }
     }
 
     private static LocalTime parseTime(String timeInput) throws DateTimeParseException {
         timeInput = timeInput.replace(":", "");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HHmm");
         try {
-            return LocalTime.parse(timeInput, timeFormatter);
+            return LocalTime.parse(timeInput, TIME_FORMATTER);
         } catch (DateTimeParseException e) {
             throw new DateTimeParseException("Invalid time format. Expected: HH:mm or HHmm", timeInput, 0);
         }
@@ -0,0 +1,138 @@
+package storage;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.StampedLock;
+
+import task.TaskList;
+
+/**
+ * Saves the changes made to a task list on a background thread, shortly after they are made.
+ * Changes made within the delay of the first unsaved one are saved together, in a single write to the journal.
+ * The changes are taken from the list while holding the write lock that guards it, and written to disk once
+ * the lock is released, so code that changes the list while holding the lock never waits for the disk.
+ * When a snapshot of the whole list is due, the write lock is turned into a read lock while it is encoded,
+ * so that commands which only read the list can carry on.
+ */
+public class Autosaver {
+    /** The delay used when none is given. */
+    public static final Duration DEFAULT_DELAY = Duration.ofMillis(500);
+
+    private final Storage storage;
+    private final TaskList tasks;
+    private final StampedLock lock;
+    private final long delayNanos;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean isScheduled = new AtomicBoolean();
+    private final AtomicReference<IOException> lastError = new AtomicReference<>();
+
+    /**
+     * Constructs an Autosaver that saves the changes made to the task list to the given storage.
+     * The list must be used only while holding the given lock, and changed only while holding its write lock.
+     *
+     * @param storage The storage the changes are saved to.
+     * @param tasks   The task list whose changes are saved.
+     * @param lock    The lock that guards the task list.
+     * @param delay   How long to wait after a change before saving it, collecting any further changes.
+     */
+    public Autosaver(Storage storage, TaskList tasks, StampedLock lock, Duration delay) {
+        this.storage = storage;
+        this.tasks = tasks;
+        this.lock = lock;
+        this.delayNanos = delay.toNanos();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cow-autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules a save of the changes made to the task list, unless one is already scheduled.
+     * Returns without waiting for the save.
+     */
+    public void requestSave() {
+        if (isScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::save, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Saves any changes that have not been saved yet, and waits for the save to finish
+     * and for the saved changes to be forced to disk.
+     *
+     * @throws IOException If this or an earlier background save failed and has not been reported yet.
+     */
+    public void flush() throws IOException {
+        try {
+            executor.submit(this::save).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while saving tasks");
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to save tasks", e.getCause());
+        }
+
+        IOException error = takeError();
+        if (error != null) {
+            throw error;
+        }
+        storage.sync();
+    }
+
+    /**
+     * Returns the error of the last background save that failed, if it has not been returned before.
+     *
+     * @return The error, or {@code null} if there is none to report.
+     */
+    public IOException takeError() {
+        return lastError.getAndSet(null);
+    }
+
+    /**
+     * Saves any changes that have not been saved yet and stops the background thread.
+     * Does nothing if already closed.
+     *
+     * @throws IOException If the changes cannot be saved.
+     */
+    public void close() throws IOException {
+        if (executor.isShutdown()) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void save() {
+        // Cleared first, so that a change made while saving schedules another save
+        isScheduled.set(false);
+        long stamp = lock.writeLock();
+        try {
+            storage.stageChanges(tasks);
+            if (storage.isSnapshotDue()) {
+                // A read lock still keeps out changes, so the snapshot matches the changes just staged
+                stamp = lock.tryConvertToReadLock(stamp);
+                storage.stageSnapshot(tasks);
+            }
+        } finally {
+            lock.unlock(stamp);
+        }
+
+        try {
+            storage.writeStagedChanges();
+        } catch (IOException e) {
+            System.err.println("Error saving tasks: " + e.getMessage());
+            lastError.set(e);
+        }
+    }
+}
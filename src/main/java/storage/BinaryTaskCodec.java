@@ -0,0 +1,285 @@
+package storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.Todo;
+
+/**
+ * Reads and writes the binary snapshot format of the task file.
+ * A snapshot starts with the magic bytes "COWB", a format version, the number of tasks
+ * and the ID the next new task will be given.
+ * Each task follows as a record prefixed with its length in bytes, holding the task type ('T', 'D' or 'E'),
+ * a flags byte whose lowest bit is set if the task is done, the task's ID, the length and UTF-8 bytes
+ * of the description, and then any dates as seconds since the epoch, taking the local date-time as UTC.
+ * Descriptions are stored as they are, so unlike the text format they may contain '|' or line breaks.
+ */
+final class BinaryTaskCodec {
+    static final short VERSION = 2;
+
+    private static final byte[] MAGIC = {'C', 'O', 'W', 'B'};
+    private static final int COUNT_OFFSET = MAGIC.length + Short.BYTES;
+    private static final int NEXT_ID_OFFSET = COUNT_OFFSET + Integer.BYTES;
+    private static final int HEADER_SIZE = NEXT_ID_OFFSET + Long.BYTES;
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+    private static final byte DONE_FLAG = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private BinaryTaskCodec() {
+    }
+
+    /**
+     * Checks whether the buffer starts with the header of a binary snapshot.
+     *
+     * @param buffer The contents of the task file.
+     * @return {@code true} if the contents are a binary snapshot, {@code false} if they are in the text format.
+     */
+    static boolean isSnapshot(ByteBuffer buffer) {
+        if (buffer.limit() < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes a snapshot of the tasks to the channel.
+     *
+     * @param channel The channel to write to.
+     * @param tasks   The tasks to write.
+     * @param count   The number of tasks.
+     * @param nextId  The ID the next new task will be given.
+     * @throws IOException If the channel cannot be written to.
+     */
+    static void write(WritableByteChannel channel, Iterable<Task> tasks, int count, long nextId)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.put(MAGIC).putShort(VERSION).putInt(count).putLong(nextId);
+
+        for (Task task : tasks) {
+            byte[] description = encodeDescription(task);
+            int recordSize = taskSize(task, description);
+            if (buffer.remaining() < Integer.BYTES + recordSize) {
+                flush(channel, buffer);
+            }
+            if (buffer.capacity() < Integer.BYTES + recordSize) {
+                // Only a description of tens of kilobytes gets here
+                ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + recordSize);
+                putTask(record.putInt(recordSize), task, description);
+                flush(channel, record);
+                continue;
+            }
+            putTask(buffer.putInt(recordSize), task, description);
+        }
+        flush(channel, buffer);
+    }
+
+    /**
+     * Returns a snapshot of the tasks as bytes.
+     *
+     * @param tasks  The tasks to encode.
+     * @param count  The number of tasks.
+     * @param nextId The ID the next new task will be given.
+     * @return The snapshot.
+     */
+    static byte[] encode(Iterable<Task> tasks, int count, long nextId) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + count * 40);
+        try {
+            write(Channels.newChannel(bytes), tasks, count, nextId);
+        } catch (IOException e) {
+            throw new AssertionError("Writing to memory cannot fail", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the tasks of a snapshot, in order.
+     * A record that cannot be read is reported and skipped, and reading stops if the snapshot is cut short.
+     * A snapshot cut short between records is caught by its number of records not matching its header.
+     *
+     * @param buffer The snapshot, starting at position 0.
+     * @param tasks  The list the tasks are added to.
+     * @param errors The list a description of each unreadable record is added to.
+     * @return The ID the next new task will be given, or 0 if the header cannot be read.
+     */
+    static long read(ByteBuffer buffer, List<Task> tasks, List<String> errors) {
+        if (!isSnapshot(buffer) || buffer.limit() < HEADER_SIZE) {
+            errors.add("Snapshot header is missing");
+            return 0;
+        }
+        short version = buffer.getShort(MAGIC.length);
+        if (version != VERSION) {
+            errors.add("Unsupported snapshot version: " + version);
+            return 0;
+        }
+
+        int expectedCount = buffer.getInt(COUNT_OFFSET);
+        int recordCount = 0;
+        int position = HEADER_SIZE;
+        byte[] scratch = new byte[256];
+        while (position < buffer.limit()) {
+            if (buffer.limit() - position < Integer.BYTES) {
+                errors.add("Snapshot is cut short after " + tasks.size() + " tasks");
+                return buffer.getLong(NEXT_ID_OFFSET);
+            }
+            int recordSize = buffer.getInt(position);
+            int start = position + Integer.BYTES;
+            if (recordSize < 0 || recordSize > buffer.limit() - start) {
+                errors.add("Snapshot is cut short after " + tasks.size() + " tasks");
+                return buffer.getLong(NEXT_ID_OFFSET);
+            }
+            position = start + recordSize;
+            recordCount++;
+
+            if (recordSize > scratch.length) {
+                scratch = new byte[Math.max(recordSize, scratch.length * 2)];
+            }
+            try {
+                tasks.add(readTask(buffer, start, recordSize, scratch));
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage());
+            }
+        }
+        if (recordCount != expectedCount) {
+            errors.add("Snapshot holds " + recordCount + " tasks, but its header says " + expectedCount);
+        }
+        return buffer.getLong(NEXT_ID_OFFSET);
+    }
+
+    /**
+     * Reads a single task written by {@link #putTask(ByteBuffer, Task, byte[])}.
+     *
+     * @param buffer     The buffer holding the task.
+     * @param start      The position the task starts at.
+     * @param recordSize The number of bytes taken by the task.
+     * @param scratch    A buffer of at least {@code recordSize} bytes for decoding the description.
+     * @return The task.
+     * @throws IllegalArgumentException If the bytes do not hold a valid task.
+     */
+    static Task readTask(ByteBuffer buffer, int start, int recordSize, byte[] scratch) {
+        int descriptionStart = start + 2 + Long.BYTES + Integer.BYTES;
+        if (recordSize < descriptionStart - start) {
+            throw new IllegalArgumentException("Invalid task record at byte " + start);
+        }
+
+        byte type = buffer.get(start);
+        boolean isDone = (buffer.get(start + 1) & DONE_FLAG) != 0;
+        if (type != TODO && type != DEADLINE && type != EVENT) {
+            throw new IllegalArgumentException("Unknown task type: " + (char) type);
+        }
+        long id = buffer.getLong(start + 2);
+        int descriptionLength = buffer.getInt(descriptionStart - Integer.BYTES);
+        int dateCount = type == DEADLINE ? 1 : type == EVENT ? 2 : 0;
+        if (descriptionLength < 0 || id < 0
+                || recordSize != descriptionStart - start + descriptionLength + dateCount * Long.BYTES) {
+            throw new IllegalArgumentException("Invalid task record at byte " + start);
+        }
+
+        buffer.get(descriptionStart, scratch, 0, descriptionLength);
+        String description = new String(scratch, 0, descriptionLength, StandardCharsets.UTF_8);
+        int datesStart = descriptionStart + descriptionLength;
+        Task task;
+        switch (type) {
+        case DEADLINE:
+            task = new Deadline(description, isDone, toDateTime(buffer.getLong(datesStart)));
+            break;
+        case EVENT:
+            task = new Event(description, isDone, toDateTime(buffer.getLong(datesStart)),
+                    toDateTime(buffer.getLong(datesStart + Long.BYTES)));
+            break;
+        default:
+            task = new Todo(description, isDone);
+        }
+        if (id > 0) {
+            task.setId(id);
+        }
+        return task;
+    }
+
+    /**
+     * Returns the UTF-8 bytes of the task's description, as passed to {@link #putTask(ByteBuffer, Task, byte[])}.
+     *
+     * @param task The task.
+     * @return The encoded description.
+     */
+    static byte[] encodeDescription(Task task) {
+        return task.getDescription().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the number of bytes {@link #putTask(ByteBuffer, Task, byte[])} writes for the task.
+     *
+     * @param task        The task.
+     * @param description The encoded description of the task.
+     * @return The size of the task in bytes.
+     */
+    static int taskSize(Task task, byte[] description) {
+        return 2 + Long.BYTES + Integer.BYTES + description.length + dateCount(task) * Long.BYTES;
+    }
+
+    /**
+     * Writes a task, without a length prefix: its type, flags, ID, description and dates.
+     *
+     * @param buffer      The buffer to write to, which must have room for the task.
+     * @param task        The task to write.
+     * @param description The encoded description of the task.
+     */
+    static void putTask(ByteBuffer buffer, Task task, byte[] description) {
+        buffer.put(typeOf(task))
+                .put(task.isDone() ? DONE_FLAG : 0)
+                .putLong(task.getId())
+                .putInt(description.length)
+                .put(description);
+        if (task instanceof Deadline) {
+            buffer.putLong(toEpochSecond(((Deadline) task).getDeadline()));
+        } else if (task instanceof Event) {
+            buffer.putLong(toEpochSecond(((Event) task).getFromDate()));
+            buffer.putLong(toEpochSecond(((Event) task).getToDate()));
+        }
+    }
+
+    private static void flush(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static byte typeOf(Task task) {
+        return task instanceof Deadline ? DEADLINE : task instanceof Event ? EVENT : TODO;
+    }
+
+    private static int dateCount(Task task) {
+        return task instanceof Deadline ? 1 : task instanceof Event ? 2 : 0;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        try {
+            return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid date in task record: " + epochSecond);
+        }
+    }
+}
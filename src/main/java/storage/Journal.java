@@ -0,0 +1,330 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import task.Task;
+import task.TaskList;
+
+/**
+ * Represents an append-only log of task changes that have not yet been folded into the snapshot file.
+ * The file starts with the magic bytes "COWJ" and a version, followed by one record per change:
+ * its length in bytes, an operation byte ('A', 'I', 'D', 'M' or 'U'), and then either the added task,
+ * encoded as in the snapshot format, the position an inserted task was put at followed by the task,
+ * or the position of the changed task.
+ * Records are written in batches by {@link #commit()} and forced to disk in groups.
+ * A journal file that does not start with the magic bytes and the current version cannot be replayed;
+ * it is set aside, so that new records start a fresh journal instead of being appended to it.
+ */
+class Journal {
+    static final byte ADD = 'A';
+    static final byte INSERT = 'I';
+    static final byte DELETE = 'D';
+    static final byte MARK = 'M';
+    static final byte UNMARK = 'U';
+    static final int GROUP_COMMIT_SIZE = 16;
+
+    private static final byte[] MAGIC = {'C', 'O', 'W', 'J'};
+    private static final short VERSION = 3;
+    private static final int HEADER_SIZE = MAGIC.length + Short.BYTES;
+    private static final int INDEX_RECORD_SIZE = 1 + Integer.BYTES;
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+
+    private final Path path;
+    private ByteBuffer pending = ByteBuffer.allocate(4096);
+    private int pendingCount;
+    private FileChannel channel;
+    private int recordCount;
+    private int unsyncedCount;
+
+    /**
+     * Constructs a Journal backed by the file at the given path.
+     * The file is only created once the first record is committed.
+     *
+     * @param path The path of the journal file.
+     */
+    Journal(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Adds a record of a task being added to the next batch. The task is recorded as it is now.
+     *
+     * @param task The task that was added.
+     */
+    void add(Task task) {
+        byte[] description = BinaryTaskCodec.encodeDescription(task);
+        int recordSize = 1 + BinaryTaskCodec.taskSize(task, description);
+        reserve(Integer.BYTES + recordSize);
+        pending.putInt(recordSize).put(ADD);
+        BinaryTaskCodec.putTask(pending, task, description);
+        pendingCount++;
+    }
+
+    /**
+     * Adds a record of a task being inserted to the next batch, such as a deleted task being restored.
+     * The task is recorded as it is now, and keeps its ID when the record is replayed.
+     *
+     * @param index The position the task was inserted at (0-based).
+     * @param task  The task that was inserted.
+     */
+    void insert(int index, Task task) {
+        byte[] description = BinaryTaskCodec.encodeDescription(task);
+        int recordSize = INDEX_RECORD_SIZE + BinaryTaskCodec.taskSize(task, description);
+        reserve(Integer.BYTES + recordSize);
+        pending.putInt(recordSize).put(INSERT).putInt(index);
+        BinaryTaskCodec.putTask(pending, task, description);
+        pendingCount++;
+    }
+
+    /**
+     * Adds a record of a task being deleted, marked or unmarked to the next batch.
+     *
+     * @param operation The operation: {@link #DELETE}, {@link #MARK} or {@link #UNMARK}.
+     * @param index     The position of the task (0-based).
+     */
+    void add(byte operation, int index) {
+        reserve(Integer.BYTES + INDEX_RECORD_SIZE);
+        pending.putInt(INDEX_RECORD_SIZE).put(operation).putInt(index);
+        pendingCount++;
+    }
+
+    /**
+     * Appends the records added since the last commit to the journal file in a single write.
+     * Once {@link #GROUP_COMMIT_SIZE} records have been committed since the journal was last forced,
+     * it is forced to disk.
+     *
+     * @throws IOException If the records cannot be written. They are discarded either way.
+     */
+    void commit() throws IOException {
+        if (pendingCount == 0) {
+            return;
+        }
+
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+                if (channel.size() == 0) {
+                    write(ByteBuffer.allocate(HEADER_SIZE).put(MAGIC).putShort(VERSION).flip());
+                }
+            }
+            write(pending.flip());
+            recordCount += pendingCount;
+            unsyncedCount += pendingCount;
+        } finally {
+            pending.clear();
+            pendingCount = 0;
+        }
+
+        if (unsyncedCount >= GROUP_COMMIT_SIZE) {
+            sync();
+        }
+    }
+
+    private static boolean hasMagic(byte[] bytes) {
+        return bytes.length >= HEADER_SIZE && ByteBuffer.wrap(bytes, 0, MAGIC.length).equals(ByteBuffer.wrap(MAGIC));
+    }
+
+    /**
+     * Forces all committed records to disk.
+     *
+     * @throws IOException If the journal cannot be forced.
+     */
+    void sync() throws IOException {
+        if (channel != null && unsyncedCount > 0) {
+            channel.force(false);
+        }
+        unsyncedCount = 0;
+    }
+
+    /**
+     * Returns the number of records committed since the journal was last cleared or rotated.
+     *
+     * @return The number of records in the journal.
+     */
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the number of records added since the last commit.
+     *
+     * @return The number of records waiting to be committed.
+     */
+    int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * Applies the records of the journal file at the given path to the task list, in the order they were written.
+     * Records that cannot be applied are reported and skipped, and a record cut short by a crash ends the replay.
+     * A file without the magic bytes or of another version is reported and moved aside to a ".corrupt" file.
+     *
+     * @param path  The journal file to replay. Nothing happens if it does not exist.
+     * @param tasks The task list the records are applied to.
+     * @throws IOException If the file cannot be read, or cannot be moved aside.
+     */
+    static void replay(Path path, TaskList tasks) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        byte[] bytes = Files.readAllBytes(path);
+        if (bytes.length == 0) {
+            return;
+        }
+        if (!hasMagic(bytes)) {
+            setAside(path, "it has no journal header");
+            return;
+        }
+        short version = ByteBuffer.wrap(bytes).getShort(MAGIC.length);
+        if (version != VERSION) {
+            setAside(path, "its version " + version + " is not supported");
+            return;
+        }
+        replayBinary(ByteBuffer.wrap(bytes), tasks);
+    }
+
+    private static void replayBinary(ByteBuffer buffer, TaskList tasks) {
+        int position = HEADER_SIZE;
+        byte[] scratch = new byte[256];
+        while (position < buffer.limit()) {
+            int recordSize = buffer.limit() - position >= Integer.BYTES ? buffer.getInt(position) : -1;
+            int start = position + Integer.BYTES;
+            if (recordSize < 1 || recordSize > buffer.limit() - start) {
+                System.err.println("Skipping incomplete journal entry at byte " + position);
+                return;
+            }
+            position = start + recordSize;
+
+            byte operation = buffer.get(start);
+            if (recordSize > scratch.length) {
+                scratch = new byte[Math.max(recordSize, scratch.length * 2)];
+            }
+            if (operation == ADD) {
+                try {
+                    tasks.addTask(BinaryTaskCodec.readTask(buffer, start + 1, recordSize - 1, scratch));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Skipping invalid journal entry: " + e.getMessage());
+                }
+            } else if (operation == INSERT && recordSize > INDEX_RECORD_SIZE) {
+                replayInsert(buffer, start, recordSize, scratch, tasks);
+            } else if (recordSize == INDEX_RECORD_SIZE) {
+                apply(operation, buffer.getInt(start + 1), tasks, (char) operation + " " + buffer.getInt(start + 1));
+            } else {
+                System.err.println("Skipping invalid journal entry at byte " + (start - Integer.BYTES));
+            }
+        }
+    }
+
+    private static void replayInsert(ByteBuffer buffer, int start, int recordSize, byte[] scratch, TaskList tasks) {
+        int index = buffer.getInt(start + 1);
+        if (index < 0 || index > tasks.size()) {
+            System.err.println("Skipping invalid journal entry: I " + index);
+            return;
+        }
+        try {
+            tasks.insertTask(index, BinaryTaskCodec.readTask(buffer, start + INDEX_RECORD_SIZE,
+                    recordSize - INDEX_RECORD_SIZE, scratch));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Skipping invalid journal entry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves a journal that cannot be replayed out of the way, keeping it for inspection.
+     *
+     * @throws IOException If the journal cannot be moved.
+     */
+    private static void setAside(Path path, String reason) throws IOException {
+        Path target = Path.of(path + CORRUPT_SUFFIX);
+        System.err.println("Skipping journal " + path + " as " + reason + "; it has been moved to " + target);
+        Files.move(path, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Applies a delete, mark or unmark record to the task list, skipping it if it cannot be applied.
+     */
+    private static void apply(byte operation, int index, TaskList tasks, String record) {
+        if (index < 0 || index >= tasks.size()) {
+            System.err.println("Skipping invalid journal entry: " + record);
+            return;
+        }
+
+        switch (operation) {
+        case DELETE:
+            tasks.deleteTask(index);
+            break;
+        case MARK:
+            tasks.markTask(index);
+            break;
+        case UNMARK:
+            tasks.unmarkTask(index);
+            break;
+        default:
+            System.err.println("Skipping invalid journal entry: " + record);
+        }
+    }
+
+    /**
+     * Moves the current journal file to the target path and starts a fresh, empty journal.
+     * A file already at the target is never replaced, as its records may not have been saved anywhere else.
+     *
+     * @param target The path the current journal file is moved to.
+     * @throws IOException If the journal cannot be closed or moved, or the target already exists.
+     */
+    void rotateTo(Path target) throws IOException {
+        close();
+        if (Files.exists(path)) {
+            Files.move(path, target);
+        }
+        recordCount = 0;
+    }
+
+    /**
+     * Discards every record in the journal, including those not yet committed.
+     *
+     * @throws IOException If the journal file cannot be deleted.
+     */
+    void clear() throws IOException {
+        pending.clear();
+        pendingCount = 0;
+        close();
+        Files.deleteIfExists(path);
+        recordCount = 0;
+    }
+
+    /**
+     * Forces any outstanding records to disk and closes the journal file.
+     * The journal is reopened when the next record is committed.
+     *
+     * @throws IOException If the journal cannot be forced or closed.
+     */
+    void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        sync();
+        channel.close();
+        channel = null;
+    }
+
+    private void reserve(int size) {
+        if (pending.remaining() < size) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + size));
+            pending = larger.put(pending.flip());
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import parser.Parser;
+import task.DateTimeFormats;
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.Todo;
+
+/**
+ * Loads tasks from a task file by memory-mapping it and scanning the raw bytes for field and line separators.
+ * No regular expressions or intermediate arrays of strings are involved; only descriptions,
+ * and the lines that fail to parse, are decoded into strings.
+ */
+final class MappedTaskLoader {
+    private static final byte SEPARATOR = '|';
+    private static final byte NEWLINE = '\n';
+    private static final int MAX_FIELDS = 5;
+    private static final int PARALLEL_THRESHOLD = 1 << 20;
+    private static final int MIN_CHUNK_SIZE = 1 << 18;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final boolean IS_WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private MappedTaskLoader() {
+    }
+
+    /**
+     * Maps the whole file at the given path into memory.
+     * On Windows the file is read into the heap instead, since a live mapping would stop the task file
+     * from being replaced on the next save.
+     *
+     * @param path The file to map.
+     * @return A buffer holding the contents of the file.
+     * @throws IOException If the file cannot be read or is larger than 2 GB.
+     */
+    static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Task file is too large to map: " + path);
+            }
+
+            if (!IS_WINDOWS) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // Keep reading until the buffer is full
+            }
+            return buffer.flip();
+        }
+    }
+
+    /**
+     * Parses every line between the given offsets of the buffer.
+     * Lines that cannot be parsed are skipped, and the reason is added to the list of errors.
+     *
+     * @param buffer The buffer holding the task file.
+     * @param start  The offset of the first byte of the first line.
+     * @param end    The offset just past the last byte to parse.
+     * @param tasks  The list the parsed tasks are added to, in file order.
+     * @param errors The list the error messages of skipped lines are added to, in file order.
+     */
+    static void parseLines(ByteBuffer buffer, int start, int end, List<Task> tasks, List<String> errors) {
+        int[] fields = new int[MAX_FIELDS * 2];
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = indexOf(buffer, NEWLINE, lineStart, end);
+            try {
+                tasks.add(parseLine(buffer, lineStart, lineEnd, fields));
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage());
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Parses the whole buffer, splitting it into newline-aligned chunks that are parsed on the common
+     * fork-join pool when the buffer is large enough to benefit.
+     * The results of the chunks are merged back in file order.
+     *
+     * @param buffer The buffer holding the task file.
+     * @param tasks  The list the parsed tasks are added to, in file order.
+     * @param errors The list the error messages of skipped lines are added to, in file order.
+     */
+    static void parseAll(ByteBuffer buffer, List<Task> tasks, List<String> errors) {
+        int size = buffer.limit();
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (size < PARALLEL_THRESHOLD || parallelism < 2) {
+            parseLines(buffer, 0, size, tasks, errors);
+            return;
+        }
+
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (parallelism * CHUNKS_PER_THREAD));
+        List<ForkJoinTask<ParsedChunk>> chunks = new ArrayList<>();
+        int chunkStart = 0;
+        while (chunkStart < size) {
+            int chunkEnd = chunkStart + chunkSize >= size
+                    ? size
+                    : Math.min(indexOf(buffer, NEWLINE, chunkStart + chunkSize, size) + 1, size);
+            chunks.add(ForkJoinPool.commonPool().submit(new ParsedChunk(buffer, chunkStart, chunkEnd)));
+            chunkStart = chunkEnd;
+        }
+
+        for (ForkJoinTask<ParsedChunk> chunk : chunks) {
+            ParsedChunk parsed = chunk.join();
+            tasks.addAll(parsed.tasks);
+            errors.addAll(parsed.errors);
+        }
+    }
+
+    /**
+     * Parses a single task line, following the same rules as {@link Parser#parseTaskFromLine(String)}.
+     *
+     * @param buffer The buffer holding the task file.
+     * @param start  The offset of the first byte of the line.
+     * @param end    The offset just past the last byte of the line.
+     * @param fields Scratch space for the trimmed start and end offsets of each field.
+     * @return The task represented by the line.
+     * @throws IllegalArgumentException If the line is not a valid task.
+     */
+    private static Task parseLine(ByteBuffer buffer, int start, int end, int[] fields) {
+        while (start < end && isWhitespace(buffer.get(start))) {
+            start++;
+        }
+        while (end > start && isWhitespace(buffer.get(end - 1))) {
+            end--;
+        }
+
+        int fieldCount = splitFields(buffer, start, end, fields);
+        if (fieldCount < 3) {
+            throw invalidLine(buffer, start, end);
+        }
+
+        boolean isDone = fields[3] - fields[2] == 1 && buffer.get(fields[2]) == '1';
+        String description = decode(buffer, fields[4], fields[5]);
+        byte taskType = fields[1] - fields[0] == 1 ? buffer.get(fields[0]) : 0;
+
+        try {
+            switch (taskType) {
+            case 'T':
+                return new Todo(description, isDone);
+            case 'D':
+                requireFields(fieldCount, 4, buffer, start, end);
+                return new Deadline(description, isDone, parseDateTime(buffer, fields[6], fields[7]));
+            case 'E':
+                requireFields(fieldCount, 5, buffer, start, end);
+                LocalDateTime fromDate = parseDateTime(buffer, fields[6], fields[7]);
+                LocalDateTime toDate = parseDateTime(buffer, fields[8], fields[9]);
+                return new Event(description, isDone, fromDate, toDate);
+            default:
+                throw new IllegalArgumentException("Unknown task type: " + decode(buffer, fields[0], fields[1]));
+            }
+        } catch (DateTimeParseException e) {
+            throw invalidLine(buffer, start, end);
+        }
+    }
+
+    /**
+     * Records the trimmed bounds of up to {@link #MAX_FIELDS} fields of a line.
+     * As with {@link String#split(String)}, trailing empty fields are not counted.
+     *
+     * @return The number of fields in the line.
+     */
+    private static int splitFields(ByteBuffer buffer, int start, int end, int[] fields) {
+        int fieldCount = 0;
+        int nonEmptyCount = 0;
+        int fieldStart = start;
+        while (fieldStart <= end) {
+            int fieldEnd = indexOf(buffer, SEPARATOR, fieldStart, end);
+            if (fieldEnd > fieldStart) {
+                nonEmptyCount = fieldCount + 1;
+            }
+            if (fieldCount < MAX_FIELDS) {
+                int trimmedStart = fieldStart;
+                int trimmedEnd = fieldEnd;
+                while (trimmedStart < trimmedEnd && isWhitespace(buffer.get(trimmedStart))) {
+                    trimmedStart++;
+                }
+                while (trimmedEnd > trimmedStart && isWhitespace(buffer.get(trimmedEnd - 1))) {
+                    trimmedEnd--;
+                }
+                fields[fieldCount * 2] = trimmedStart;
+                fields[fieldCount * 2 + 1] = trimmedEnd;
+            }
+            fieldCount++;
+            fieldStart = fieldEnd + 1;
+        }
+        return Math.min(nonEmptyCount, MAX_FIELDS);
+    }
+
+    /**
+     * Parses a date-time field. The "dd/MM/yyyy HH:mm" storage format is read straight from the bytes;
+     * anything else goes through {@link Parser#parseDateTime(String)}.
+     */
+    private static LocalDateTime parseDateTime(ByteBuffer buffer, int start, int end) {
+        // Dates such as 31/02 are left to the regular parser, which resolves them the same way it always has
+        LocalDateTime dateTime = DateTimeFormats.parseStorage(new AsciiSlice(buffer, start, end));
+        if (dateTime != null) {
+            return dateTime;
+        }
+        return Parser.parseDateTime(decode(buffer, start, end));
+    }
+
+    private static void requireFields(int fieldCount, int required, ByteBuffer buffer, int start, int end) {
+        if (fieldCount < required) {
+            throw invalidLine(buffer, start, end);
+        }
+    }
+
+    private static IllegalArgumentException invalidLine(ByteBuffer buffer, int start, int end) {
+        return new IllegalArgumentException("Error parsing task from line, skipping: " + decode(buffer, start, end));
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte target, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == target) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return (b & 0xff) <= ' ';
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Represents a slice of the task file as characters, one per byte, without copying it.
+     * Bytes outside ASCII become characters that are neither digits nor separators, so the slice is only
+     * suitable for text that is expected to be ASCII.
+     */
+    private static class AsciiSlice implements CharSequence {
+        private final ByteBuffer buffer;
+        private final int start;
+        private final int end;
+
+        AsciiSlice(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(start + index) & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new AsciiSlice(buffer, start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            return decode(buffer, start, end);
+        }
+    }
+
+    /**
+     * Represents one newline-aligned slice of the task file, parsed independently of the others.
+     */
+    private static class ParsedChunk implements Callable<ParsedChunk> {
+        private final ByteBuffer buffer;
+        private final int start;
+        private final int end;
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+
+        ParsedChunk(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public ParsedChunk call() {
+            parseLines(buffer, start, end, tasks, errors);
+            return this;
+        }
+    }
+}
@@ -3,19 +3,47 @@ package storage;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 import parser.Parser;
 import task.Task;
+import task.TaskChange;
 import task.TaskList;
 
 /**
  * Handles loading and saving tasks to a file for storage.
+ * Tasks are saved as a binary snapshot, and task files in the older text format are still read.
+ * A new snapshot only replaces the task file once it is complete, and the previous one is kept as a backup.
+ * Changes made between full saves are appended to a journal next to the task file,
+ * which is replayed on startup and folded into a fresh snapshot once it grows too large.
+ * If changes cannot be appended, nothing more is appended after them; the next save writes a full snapshot instead.
+ * The methods of a Storage may be called from different threads, but only one runs at a time.
  */
 public class Storage {
+    static final int COMPACTION_THRESHOLD = 1000;
+
     private final String filePath;
+    private final Path journalPath;
+    private final Path rotatedJournalPath;
+    private final Path compactedPath;
+    private final Path tempPath;
+    private final Path backupPath;
+    private final Journal journal;
+    private byte[] stagedSnapshot;
+    // Set when changes could not be written, as records staged after them would apply to the wrong tasks
+    private boolean needsFullSave;
+    private volatile long lastSaveNanos;
 
     /**
      * Constructs a Storage instance with the specified file path.
@@ -24,51 +52,424 @@ public class Storage {
      */
     public Storage(String filePath) {
         this.filePath = filePath;
+        this.journalPath = Path.of(filePath + ".journal");
+        this.rotatedJournalPath = Path.of(filePath + ".journal.old");
+        this.compactedPath = Path.of(filePath + ".compacted");
+        this.tempPath = Path.of(filePath + ".tmp");
+        this.backupPath = Path.of(filePath + ".bak");
+        this.journal = new Journal(journalPath);
     }
 
     /**
      * Loads tasks from the specified file and returns them as a TaskList.
      * If the file does not exist, it creates an empty file.
+     * Any journal left behind by the previous run is replayed on top of the loaded tasks.
      *
      * @return A TaskList containing tasks loaded from the file.
      */
     public TaskList loadTasksFromFile() {
-        TaskList tasks = new TaskList();
+        return loadTasksFromFile(new TaskList());
+    }
+
+    /**
+     * Loads tasks from the specified file into the given empty task list, such as a compact one.
+     * If the file does not exist, it creates an empty file.
+     * Any journal left behind by the previous run is replayed on top of the loaded tasks.
+     *
+     * @param tasks The empty task list to load the tasks into.
+     * @return The given TaskList, now containing the tasks loaded from the file.
+     */
+    public TaskList loadTasksFromFile(TaskList tasks) {
         File file = new File(filePath);
 
+        recoverCompaction();
         ensureFileExists(file);
 
+        try {
+            if (file.length() > Integer.MAX_VALUE) {
+                loadLineByLine(file, tasks);
+            } else {
+                loadMapped(file, tasks);
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading file: " + e.getMessage());
+        }
+
+        // A journal rotated by an interrupted compaction holds the older records
+        replayJournal(rotatedJournalPath, tasks);
+        replayJournal(journalPath, tasks);
+
+        tasks.markSaved();
+        return tasks;
+    }
+
+    /**
+     * Loads tasks by memory-mapping the file and reading it without building a string per entry.
+     *
+     * @param file  The file to load.
+     * @param tasks The task list to which the tasks will be added.
+     * @throws IOException If the file cannot be mapped.
+     */
+    private void loadMapped(File file, TaskList tasks) throws IOException {
+        List<Task> loaded = new ArrayList<>();
+        long nextId = readTasks(file.toPath(), loaded);
+        for (Task task : loaded) {
+            tasks.addTask(task);
+        }
+        tasks.reserveIdsBelow(nextId);
+    }
+
+    /**
+     * Reads the tasks of a file in either the binary snapshot format or the text format,
+     * telling them apart by the snapshot header. Large text files are parsed in parallel;
+     * tasks and error reports still come out in file order. Entries that cannot be read are reported and skipped.
+     *
+     * @param path   The file to read.
+     * @param loaded The list the tasks are added to, in file order.
+     * @return The ID the next new task should be given, or 0 if the file does not say.
+     * @throws IOException If the file cannot be mapped.
+     */
+    private long readTasks(Path path, List<Task> loaded) throws IOException {
+        ByteBuffer buffer = MappedTaskLoader.map(path);
+        List<String> errors = new ArrayList<>();
+        long nextId = 0;
+        if (BinaryTaskCodec.isSnapshot(buffer)) {
+            nextId = BinaryTaskCodec.read(buffer, loaded, errors);
+        } else {
+            MappedTaskLoader.parseAll(buffer, loaded, errors);
+        }
+
+        for (String error : errors) {
+            System.err.println("Skipping invalid task entry: " + error);
+        }
+        return nextId;
+    }
+
+    /**
+     * Loads tasks one line at a time. Used for files too large to be mapped in one piece.
+     *
+     * @param file  The file to load.
+     * @param tasks The task list to which the tasks will be added.
+     * @throws IOException If the file cannot be read.
+     */
+    private void loadLineByLine(File file, TaskList tasks) throws IOException {
         try (Scanner sc = new Scanner(new FileReader(file))) {
             while (sc.hasNextLine()) {
                 String line = sc.nextLine().trim();
                 parseAndAddTask(line, tasks);
             }
+        }
+    }
+
+    /**
+     * Saves the current list of tasks to the file as a binary snapshot.
+     * The snapshot is written to a temporary file and forced to disk before it replaces the task file,
+     * so a crash or a full disk part way through leaves the previous save intact.
+     * The previous save is kept as a backup, and the journal is cleared once the full list has been written.
+     *
+     * @param tasks The TaskList to be saved.
+     * @throws IOException If the tasks cannot be saved. The task file is left as it was.
+     */
+    public synchronized void saveTasksToFile(TaskList tasks) throws IOException {
+        long startTime = System.nanoTime();
+
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            BinaryTaskCodec.write(channel, tasks, tasks.size(), tasks.getNextId());
+            channel.force(true);
         } catch (IOException e) {
-            System.err.println("Error reading file: " + e.getMessage());
+            Files.deleteIfExists(tempPath);
+            throw e;
         }
+        moveIntoPlace(tempPath);
+        tasks.markSaved();
 
-        return tasks;
+        // The snapshot includes every staged change, so they must not be journaled on top of it
+        stagedSnapshot = null;
+        clearJournals();
+        lastSaveNanos = System.nanoTime() - startTime;
     }
 
     /**
-     * Saves the current list of tasks to the file.
+     * Returns how long the last full save took, or zero if there has not been one.
      *
-     * @param tasks The TaskList to be saved.
+     * @return The duration of the last call to {@link #saveTasksToFile(TaskList)} that succeeded.
      */
-    public void saveTasksToFile(TaskList tasks) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            boolean isFileEmpty = new java.io.File(filePath).length() == 0;
+    public Duration getLastSaveDuration() {
+        return Duration.ofNanos(lastSaveNanos);
+    }
 
-            for (Task task : tasks.getAllTasks()) {
-                if (!isFileEmpty) {
+    /**
+     * Writes the tasks to a file in the text format, one task per line.
+     *
+     * @param tasks The tasks to export.
+     * @param path  The file to write to.
+     * @throws IOException If the file cannot be written.
+     */
+    public void exportTasks(TaskList tasks, Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            boolean isFirstLine = true;
+            for (Task task : tasks) {
+                if (!isFirstLine) {
                     writer.newLine();
                 }
-
                 writer.write(task.getFormat());
-                isFileEmpty = false; // Only add new line on the first write
+                isFirstLine = false;
+            }
+        }
+    }
+
+    /**
+     * Reads the tasks of a file in either the text format or the binary snapshot format.
+     * Entries that cannot be read are reported and skipped.
+     *
+     * @param path The file to read.
+     * @return The tasks, in file order.
+     * @throws IOException If the file cannot be read.
+     */
+    public List<Task> importTasks(Path path) throws IOException {
+        if (Files.size(path) > Integer.MAX_VALUE) {
+            throw new IOException("File is too large to import: " + path);
+        }
+        List<Task> loaded = new ArrayList<>();
+        readTasks(path, loaded);
+        return loaded;
+    }
+
+    /**
+     * Saves the changes made to the task list since it was last saved by appending them to the journal,
+     * which takes time in proportion to the number of changes rather than the size of the list.
+     * Once the journal has grown past the threshold, it is folded into a fresh snapshot.
+     *
+     * @param tasks The task list whose changes are saved.
+     * @throws IOException If the changes cannot be written.
+     */
+    public synchronized void saveChanges(TaskList tasks) throws IOException {
+        stageChanges(tasks);
+        if (isSnapshotDue()) {
+            stageSnapshot(tasks);
+        }
+        writeStagedChanges();
+    }
+
+    /**
+     * Encodes the changes made to the task list since it was last saved, ready to be written by
+     * {@link #writeStagedChanges()}, and marks the list as saved. Nothing is written to disk,
+     * and the time taken is in proportion to the number of changes, so this can be done while the list
+     * is locked against changes and the writing done once it has been unlocked.
+     * If an earlier write failed, the changes are not staged, as a snapshot of the whole list is due instead.
+     *
+     * @param tasks The task list whose changes are staged.
+     */
+    public synchronized void stageChanges(TaskList tasks) {
+        List<TaskChange> changes = tasks.getUnsavedChanges();
+        if (needsFullSave) {
+            tasks.markSaved();
+            return;
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        for (TaskChange change : changes) {
+            switch (change.getType()) {
+            case ADD:
+                journal.add(change.getTask());
+                break;
+            case INSERT:
+                journal.insert(change.getIndex(), change.getTask());
+                break;
+            case DELETE:
+                journal.add(Journal.DELETE, change.getIndex());
+                break;
+            case MARK:
+                journal.add(Journal.MARK, change.getIndex());
+                break;
+            default:
+                journal.add(Journal.UNMARK, change.getIndex());
+            }
+        }
+        tasks.markSaved();
+    }
+
+    /**
+     * Returns whether a snapshot of the whole list should be staged along with the staged changes,
+     * because the journal has grown past the threshold or an earlier write failed.
+     *
+     * @return {@code true} if {@link #stageSnapshot(TaskList)} should be called before the next write.
+     */
+    public synchronized boolean isSnapshotDue() {
+        int pendingCount = journal.getPendingCount();
+        return needsFullSave
+                || (pendingCount > 0 && journal.getRecordCount() + pendingCount >= COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Encodes a snapshot of the whole list, ready to be written by {@link #writeStagedChanges()}.
+     * This takes time in proportion to the size of the list, but only reads it, so it can be done
+     * while other threads read the list, as long as nothing changes it between staging the changes and this.
+     *
+     * @param tasks The task list whose changes were just staged.
+     */
+    public synchronized void stageSnapshot(TaskList tasks) {
+        stagedSnapshot = BinaryTaskCodec.encode(tasks, tasks.size(), tasks.getNextId());
+    }
+
+    /**
+     * Forces the changes written so far to disk, including any the journal would otherwise force later.
+     *
+     * @throws IOException If the journal cannot be forced.
+     */
+    public synchronized void sync() throws IOException {
+        journal.sync();
+    }
+
+    /**
+     * Appends the staged changes to the journal, and then folds the journal into the staged snapshot if there is one.
+     * If a full snapshot was staged after an earlier failure, it replaces the task file and the journals instead.
+     *
+     * @throws IOException If the changes or the snapshot cannot be written. The next save then writes
+     *                     a full snapshot, so that the changes are not lost while the application keeps running.
+     */
+    public synchronized void writeStagedChanges() throws IOException {
+        byte[] snapshot = stagedSnapshot;
+        stagedSnapshot = null;
+        try {
+            if (needsFullSave) {
+                if (snapshot != null) {
+                    writeFullSnapshot(snapshot);
+                }
+                return;
+            }
+            journal.commit();
+            if (snapshot != null) {
+                compact(snapshot);
+            }
+        } catch (IOException e) {
+            needsFullSave = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces the task file with the given snapshot, which includes every change, and then deletes the journals.
+     *
+     * @param snapshot The encoded snapshot of the whole list.
+     * @throws IOException If the snapshot cannot be written or the journals cannot be deleted.
+     */
+    private void writeFullSnapshot(byte[] snapshot) throws IOException {
+        try {
+            Files.write(tempPath, snapshot,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempPath);
+            throw e;
+        }
+        moveIntoPlace(tempPath);
+        clearJournals();
+    }
+
+    /**
+     * Deletes the journals once a snapshot including all of their records is in place.
+     * Until that succeeds, no more records are appended, so that they are not replayed on top of the snapshot.
+     *
+     * @throws IOException If a journal cannot be deleted.
+     */
+    private void clearJournals() throws IOException {
+        needsFullSave = true;
+        journal.clear();
+        Files.deleteIfExists(rotatedJournalPath);
+        needsFullSave = false;
+    }
+
+    /**
+     * Folds the journal into a fresh snapshot of the task file.
+     * New records go to a fresh journal, while the old one is kept until the snapshot is in place.
+     * If a journal rotated by an earlier compaction is still there, it is never overwritten;
+     * the snapshot replaces the task file and both journals instead.
+     *
+     * @param snapshot The encoded snapshot, which includes every record in the journal.
+     * @throws IOException If the journal cannot be rotated or the snapshot cannot be written.
+     */
+    private void compact(byte[] snapshot) throws IOException {
+        if (Files.exists(rotatedJournalPath)) {
+            writeFullSnapshot(snapshot);
+            return;
+        }
+        journal.rotateTo(rotatedJournalPath);
+        writeCompactedSnapshot(snapshot);
+    }
+
+    /**
+     * Writes a compacted snapshot and then retires the rotated journal it replaces.
+     * The snapshot only becomes visible under {@link #compactedPath} once it is complete,
+     * so {@link #recoverCompaction()} can tell a finished compaction from an interrupted one.
+     *
+     * @param snapshot The encoded snapshot.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    private void writeCompactedSnapshot(byte[] snapshot) throws IOException {
+        Files.write(tempPath, snapshot,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        Files.move(tempPath, compactedPath, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(rotatedJournalPath);
+        moveIntoPlace(compactedPath);
+    }
+
+    /**
+     * Completes a compaction that was interrupted by a crash after its snapshot was written.
+     * A rotated journal left by one interrupted earlier is kept, to be replayed and folded in by the next snapshot.
+     */
+    private void recoverCompaction() {
+        try {
+            if (Files.exists(compactedPath)) {
+                // The snapshot already contains the rotated journal, so only the last rename was lost
+                Files.deleteIfExists(rotatedJournalPath);
+                moveIntoPlace(compactedPath);
             }
         } catch (IOException e) {
-            System.err.println("Error writing to file: " + e.getMessage());
+            System.err.println("Error recovering compacted snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replays the records of a journal file on top of the given task list.
+     *
+     * @param path  The journal file to replay.
+     * @param tasks The task list the records are applied to.
+     */
+    private void replayJournal(Path path, TaskList tasks) {
+        try {
+            Journal.replay(path, tasks);
+        } catch (IOException e) {
+            System.err.println("Error reading journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the task file with the given file in a single step, keeping the previous task file as a backup.
+     * The backup is a hard link where the file system allows it, so that no data needs to be copied.
+     *
+     * @param source The complete new task file.
+     * @throws IOException If the task file cannot be replaced.
+     */
+    private void moveIntoPlace(Path source) throws IOException {
+        Path taskPath = Path.of(filePath);
+        if (Files.exists(taskPath)) {
+            Files.deleteIfExists(backupPath);
+            try {
+                Files.createLink(backupPath, taskPath);
+            } catch (UnsupportedOperationException | IOException e) {
+                Files.copy(taskPath, backupPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        try {
+            Files.move(source, taskPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, taskPath, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
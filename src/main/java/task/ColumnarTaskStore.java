@@ -0,0 +1,287 @@
+package task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a compact store for large task lists, which keeps the tasks in primitive columns rather than
+ * as objects: a byte per task for its type, a bit for whether it is done, its ID, a reference to its
+ * description in a shared {@link DescriptionArena}, and its dates in minutes since the epoch.
+ * This takes a few dozen bytes per task, plus the bytes of each distinct description.
+ * A {@link Task} is only made when one is asked for, as a copy of its row, so changing it does not change
+ * the store. Queries scan the columns, as no index is kept; finding a task by ID is a binary search while
+ * the IDs are in list order, as they are unless tasks have been restored out of order.
+ * Inserting and removing a task in the middle moves the rows after it, taking O(n) time.
+ */
+class ColumnarTaskStore implements TaskStore {
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final DescriptionArena descriptions = new DescriptionArena();
+    private final BitSet done = new BitSet();
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] descriptionRefs = new int[INITIAL_CAPACITY];
+    // The due date of a deadline or the start of an event
+    private long[] startMinutes = new long[INITIAL_CAPACITY];
+    // The end of an event
+    private long[] endMinutes = new long[INITIAL_CAPACITY];
+    private int size;
+    private boolean isSortedById = true;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index, size);
+        return materialize(index);
+    }
+
+    @Override
+    public void add(Task task) {
+        insert(size, task);
+    }
+
+    @Override
+    public void insert(int index, Task task) {
+        checkIndex(index, size + 1);
+        if (size == types.length) {
+            grow();
+        }
+        if (index < size) {
+            shiftRows(index, index + 1, size - index);
+            for (int bit = done.previousSetBit(size - 1); bit >= index; bit = done.previousSetBit(bit - 1)) {
+                done.clear(bit);
+                done.set(bit + 1);
+            }
+        }
+
+        long id = task.getId();
+        if ((index > 0 && ids[index - 1] >= id) || (index < size && ids[index + 1] <= id)) {
+            isSortedById = false;
+        }
+        ids[index] = id;
+        descriptionRefs[index] = descriptions.intern(task.getDescription());
+        done.set(index, task.isDone());
+        if (task instanceof Deadline) {
+            types[index] = DEADLINE;
+            startMinutes[index] = toMinutes(((Deadline) task).getDeadline());
+        } else if (task instanceof Event) {
+            types[index] = EVENT;
+            startMinutes[index] = toMinutes(((Event) task).getFromDate());
+            endMinutes[index] = toMinutes(((Event) task).getToDate());
+        } else {
+            types[index] = TODO;
+        }
+        size++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        checkIndex(index, size);
+        Task task = materialize(index);
+        shiftRows(index + 1, index, size - index - 1);
+        done.clear(index);
+        for (int bit = done.nextSetBit(index + 1); bit >= 0 && bit < size; bit = done.nextSetBit(bit + 1)) {
+            done.clear(bit);
+            done.set(bit - 1);
+        }
+        size--;
+        return task;
+    }
+
+    @Override
+    public boolean isDone(int index) {
+        checkIndex(index, size);
+        return done.get(index);
+    }
+
+    @Override
+    public Task setDone(int index, boolean isDone) {
+        checkIndex(index, size);
+        done.set(index, isDone);
+        return materialize(index);
+    }
+
+    @Override
+    public int indexOfId(long id) {
+        if (isSortedById) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index < 0 ? -1 : index;
+        }
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return iterator(0);
+    }
+
+    @Override
+    public Iterator<Task> iterator(int fromIndex) {
+        return new Iterator<>() {
+            private int next = fromIndex;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Task next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return materialize(next++);
+            }
+        };
+    }
+
+    /**
+     * Returns the tasks containing the query, in list order.
+     * Each distinct description is checked once, and then only the matching rows are made into tasks.
+     *
+     * @param query The lower-cased text to search for.
+     * @return The matching tasks.
+     */
+    @Override
+    public List<Task> findContaining(String query) {
+        BitSet matchingRefs = descriptions.findContaining(query);
+        List<Task> matches = new ArrayList<>();
+        if (matchingRefs.isEmpty()) {
+            return matches;
+        }
+        for (int i = 0; i < size; i++) {
+            if (matchingRefs.get(descriptionRefs[i])) {
+                matches.add(materialize(i));
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public List<Task> findDueBefore(LocalDateTime date) {
+        long before = toMinutes(date);
+        List<Task> matches = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (types[i] == DEADLINE && startMinutes[i] < before) {
+                matches.add(materialize(i));
+            }
+        }
+        return sortedByStart(matches);
+    }
+
+    @Override
+    public List<Task> findWithin(LocalDateTime from, LocalDateTime to) {
+        long start = toMinutes(from);
+        long end = toMinutes(to);
+        List<Task> matches = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            boolean isMatch = types[i] == DEADLINE
+                    ? startMinutes[i] >= start && startMinutes[i] <= end
+                    : types[i] == EVENT && startMinutes[i] >= start && endMinutes[i] <= end;
+            if (isMatch) {
+                matches.add(materialize(i));
+            }
+        }
+        return sortedByStart(matches);
+    }
+
+    @Override
+    public List<Task> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        long start = toMinutes(from);
+        long end = toMinutes(to);
+        List<Task> matches = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            boolean isMatch = types[i] == DEADLINE
+                    ? startMinutes[i] >= start && startMinutes[i] <= end
+                    : types[i] == EVENT && startMinutes[i] <= end && endMinutes[i] >= start;
+            if (isMatch) {
+                matches.add(materialize(i));
+            }
+        }
+        return sortedByStart(matches);
+    }
+
+    /**
+     * Returns the number of distinct descriptions held for the tasks, which may be fewer than the tasks.
+     *
+     * @return The number of distinct descriptions.
+     */
+    int getDescriptionCount() {
+        return descriptions.size();
+    }
+
+    private Task materialize(int index) {
+        String description = descriptions.get(descriptionRefs[index]);
+        boolean isDone = done.get(index);
+        Task task;
+        switch (types[index]) {
+        case DEADLINE:
+            task = new Deadline(description, isDone, toDateTime(startMinutes[index]));
+            break;
+        case EVENT:
+            task = new Event(description, isDone, toDateTime(startMinutes[index]), toDateTime(endMinutes[index]));
+            break;
+        default:
+            task = new Todo(description, isDone);
+        }
+        task.setId(ids[index]);
+        return task;
+    }
+
+    private void shiftRows(int from, int to, int count) {
+        System.arraycopy(types, from, types, to, count);
+        System.arraycopy(ids, from, ids, to, count);
+        System.arraycopy(descriptionRefs, from, descriptionRefs, to, count);
+        System.arraycopy(startMinutes, from, startMinutes, to, count);
+        System.arraycopy(endMinutes, from, endMinutes, to, count);
+    }
+
+    private void grow() {
+        int capacity = types.length * 2;
+        types = Arrays.copyOf(types, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        descriptionRefs = Arrays.copyOf(descriptionRefs, capacity);
+        startMinutes = Arrays.copyOf(startMinutes, capacity);
+        endMinutes = Arrays.copyOf(endMinutes, capacity);
+    }
+
+    private static List<Task> sortedByStart(List<Task> matches) {
+        // The sort is stable, so tasks starting at the same time stay in list order
+        matches.sort(Comparator.comparing(DateIndex::startOf));
+        return matches;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    // Dates are entered and saved to the minute, so nothing finer is kept
+    private static long toMinutes(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime toDateTime(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,114 @@
+package task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Represents an index over the dates of deadlines and events, used to answer time-window queries
+ * without scanning the whole task list.
+ * Deadlines are kept in a sorted map from their due date, and events in an {@link EventIntervalTree}.
+ */
+class DateIndex {
+    private final NavigableMap<LocalDateTime, List<Deadline>> deadlines = new TreeMap<>();
+    private final EventIntervalTree events = new EventIntervalTree();
+
+    /**
+     * Adds a task to the index. Tasks without dates are ignored.
+     *
+     * @param task The task to index.
+     */
+    void add(Task task) {
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            deadlines.computeIfAbsent(deadline.getDeadline(), date -> new ArrayList<>(1)).add(deadline);
+        } else if (task instanceof Event) {
+            events.add((Event) task);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            List<Deadline> sameDate = deadlines.get(deadline.getDeadline());
+            if (sameDate == null) {
+                return;
+            }
+            sameDate.removeIf(other -> other == deadline);
+            if (sameDate.isEmpty()) {
+                deadlines.remove(deadline.getDeadline());
+            }
+        } else if (task instanceof Event) {
+            events.remove((Event) task);
+        }
+    }
+
+    /**
+     * Returns the deadlines due strictly before the given date, earliest first.
+     *
+     * @param date The date the deadlines must be due before.
+     * @return The matching deadlines.
+     */
+    List<Task> findDueBefore(LocalDateTime date) {
+        List<Task> matches = new ArrayList<>();
+        addAll(deadlines.headMap(date, false).values(), matches);
+        return matches;
+    }
+
+    /**
+     * Returns the deadlines due inside the window and the events lying entirely inside it,
+     * ordered by due date or start date.
+     *
+     * @param from The start of the window (inclusive).
+     * @param to   The end of the window (inclusive).
+     * @return The matching tasks.
+     */
+    List<Task> findWithin(LocalDateTime from, LocalDateTime to) {
+        List<Task> matches = new ArrayList<>();
+        addAll(deadlines.subMap(from, true, to, true).values(), matches);
+        events.findWithin(from, to, matches);
+        matches.sort(Comparator.comparing(DateIndex::startOf));
+        return matches;
+    }
+
+    /**
+     * Returns the deadlines due inside the window and the events overlapping it,
+     * ordered by due date or start date.
+     *
+     * @param from The start of the window (inclusive).
+     * @param to   The end of the window (inclusive).
+     * @return The matching tasks.
+     */
+    List<Task> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<Task> matches = new ArrayList<>();
+        addAll(deadlines.subMap(from, true, to, true).values(), matches);
+        events.findOverlapping(from, to, matches);
+        matches.sort(Comparator.comparing(DateIndex::startOf));
+        return matches;
+    }
+
+    private static void addAll(Collection<List<Deadline>> sameDateGroups, List<Task> matches) {
+        for (List<Deadline> sameDate : sameDateGroups) {
+            matches.addAll(sameDate);
+        }
+    }
+
+    /**
+     * Returns the due date of a deadline or the start date of an event.
+     *
+     * @param task The deadline or event.
+     * @return The date the task is ordered by.
+     */
+    static LocalDateTime startOf(Task task) {
+        return task instanceof Deadline ? ((Deadline) task).getDeadline() : ((Event) task).getFromDate();
+    }
+}
@@ -0,0 +1,101 @@
+package task;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Holds the shared date-time formats used to store and display tasks.
+ * Formatters are compiled once, and the fixed "dd/MM/yyyy HH:mm" storage format also has a hand-rolled
+ * formatter and parser, since it is used for every dated task whenever the list is saved or loaded.
+ */
+public final class DateTimeFormats {
+    /** The format dates are stored in, e.g. "10/03/2025 23:59". */
+    public static final DateTimeFormatter STORAGE = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    /** The format dates are shown to the user in, e.g. "2025-03-10 23:59". */
+    public static final DateTimeFormatter DISPLAY = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final int STORAGE_LENGTH = 16;
+
+    private DateTimeFormats() {
+    }
+
+    /**
+     * Formats a date-time in the storage format.
+     *
+     * @param dateTime The date-time to format.
+     * @return The date-time as "dd/MM/yyyy HH:mm".
+     */
+    public static String formatStorage(LocalDateTime dateTime) {
+        return appendStorage(new StringBuilder(STORAGE_LENGTH), dateTime).toString();
+    }
+
+    /**
+     * Appends a date-time in the storage format to the builder, without going through {@link DateTimeFormatter}.
+     * Years outside 1 to 9999 are handed to {@link #STORAGE}, which knows how to sign and pad them.
+     *
+     * @param builder  The builder to append to.
+     * @param dateTime The date-time to format.
+     * @return The builder.
+     */
+    public static StringBuilder appendStorage(StringBuilder builder, LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        if (year < 1 || year > 9999) {
+            return builder.append(STORAGE.format(dateTime));
+        }
+
+        appendDigits(builder, dateTime.getDayOfMonth(), 2).append('/');
+        appendDigits(builder, dateTime.getMonthValue(), 2).append('/');
+        appendDigits(builder, year, 4).append(' ');
+        appendDigits(builder, dateTime.getHour(), 2).append(':');
+        return appendDigits(builder, dateTime.getMinute(), 2);
+    }
+
+    /**
+     * Parses a date-time that is exactly in the storage format, without going through {@link DateTimeFormatter}.
+     * Both the line parser and the memory-mapped loader read stored dates through this.
+     *
+     * @param text The text to parse, which may be a view over bytes rather than a string.
+     * @return The date-time, or {@code null} if the text is not a valid date-time in exactly the storage format.
+     */
+    public static LocalDateTime parseStorage(CharSequence text) {
+        if (text.length() != STORAGE_LENGTH || text.charAt(2) != '/' || text.charAt(5) != '/'
+                || text.charAt(10) != ' ' || text.charAt(13) != ':') {
+            return null;
+        }
+
+        int day = parseDigits(text, 0, 2);
+        int month = parseDigits(text, 3, 2);
+        int year = parseDigits(text, 6, 4);
+        int hour = parseDigits(text, 11, 2);
+        int minute = parseDigits(text, 14, 2);
+        if (day < 0 || month < 0 || year < 0 || hour < 0 || minute < 0) {
+            return null;
+        }
+
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static StringBuilder appendDigits(StringBuilder builder, int value, int width) {
+        for (int divisor = width == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            builder.append((char) ('0' + value / divisor % 10));
+        }
+        return builder;
+    }
+
+    private static int parseDigits(CharSequence text, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -1,7 +1,6 @@
 package task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Represents a task with a deadline, a subclass of Task..
@@ -23,14 +22,22 @@ public class Deadline extends Task {
         this.deadline = deadline;
     }
 
+    /**
+     * Returns the date and time by which the task should be completed.
+     *
+     * @return The deadline of the task.
+     */
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
     /**
      * Returns a formatted string representation of the task for storage purposes.
      *
      * @return A formatted string representing the task in storage format.
      */
     public String getFormat() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-        return "D | " + super.getFormat() + " | " + deadline.format(formatter);
+        return "D | " + super.getFormat() + " | " + DateTimeFormats.formatStorage(deadline);
     }
 
     /**
@@ -41,8 +48,7 @@ public class Deadline extends Task {
      */
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
         return "[D]" + super.toString() + " (Deadline is: "
-                + deadline.format(formatter) + ")";
+                + deadline.format(DateTimeFormats.DISPLAY) + ")";
     }
 }
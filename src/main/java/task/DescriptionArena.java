@@ -0,0 +1,160 @@
+package task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Represents a shared store of task descriptions, encoded as UTF-8 one after another in a single byte array.
+ * Descriptions are interned: adding a description that is already stored returns a reference to the
+ * stored copy, so tasks with the same description share its bytes.
+ * Descriptions are never removed, so the one of a deleted task stays to be shared by any later task
+ * with the same description; the arena is rebuilt from scratch whenever the task list is loaded.
+ * The lower-cased bytes of each description are stored once alongside it, or shared with it when lower-casing
+ * changes nothing, so searches match those bytes in place without decoding any description.
+ */
+class DescriptionArena {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY * 16];
+    private int usedBytes;
+    private int[] offsets = new int[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int[] lowerOffsets = new int[INITIAL_CAPACITY];
+    private int[] lowerLengths = new int[INITIAL_CAPACITY];
+    private int count;
+    // Open-addressed table of references plus one, 0 marking an empty slot
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+
+    /**
+     * Returns the number of distinct descriptions stored.
+     *
+     * @return The number of descriptions.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Stores a description, unless an equal one is already stored.
+     *
+     * @param description The description to store.
+     * @return The reference to the stored description.
+     */
+    int intern(String description) {
+        byte[] encoded = description.getBytes(StandardCharsets.UTF_8);
+        int hash = description.hashCode();
+        int mask = table.length - 1;
+        int slot = slotOf(hash, mask);
+        for (; table[slot] != 0; slot = (slot + 1) & mask) {
+            int ref = table[slot] - 1;
+            if (hashes[ref] == hash && equalsStored(ref, encoded)) {
+                return ref;
+            }
+        }
+
+        String lowered = description.toLowerCase();
+        byte[] encodedLower = lowered.equals(description) ? null : lowered.getBytes(StandardCharsets.UTF_8);
+        int ref = append(encoded, encodedLower, hash);
+        table[slot] = ref + 1;
+        if (count * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return ref;
+    }
+
+    /**
+     * Returns the stored description with the given reference.
+     *
+     * @param ref The reference returned by {@link #intern(String)}.
+     * @return A new string holding the description.
+     */
+    String get(int ref) {
+        return new String(bytes, offsets[ref], lengths[ref], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the references of the stored descriptions that contain the query once lower-cased.
+     * Each distinct description is checked once, however many tasks share it, by matching the UTF-8 bytes
+     * of the query against its stored lower-cased bytes.
+     *
+     * @param query The lower-cased text to search for.
+     * @return The set of matching references.
+     */
+    BitSet findContaining(String query) {
+        byte[] needle = query.getBytes(StandardCharsets.UTF_8);
+        BitSet matches = new BitSet(count);
+        for (int ref = 0; ref < count; ref++) {
+            if (lowerContains(ref, needle)) {
+                matches.set(ref);
+            }
+        }
+        return matches;
+    }
+
+    // UTF-8 is self-synchronizing, so a byte match always starts and ends on whole characters
+    private boolean lowerContains(int ref, byte[] needle) {
+        if (needle.length == 0) {
+            return true;
+        }
+        int last = lowerOffsets[ref] + lowerLengths[ref] - needle.length;
+        for (int i = lowerOffsets[ref]; i <= last; i++) {
+            if (bytes[i] == needle[0] && Arrays.equals(bytes, i, i + needle.length, needle, 0, needle.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean equalsStored(int ref, byte[] encoded) {
+        return lengths[ref] == encoded.length
+                && Arrays.equals(bytes, offsets[ref], offsets[ref] + lengths[ref], encoded, 0, encoded.length);
+    }
+
+    private int append(byte[] encoded, byte[] encodedLower, int hash) {
+        int needed = encoded.length + (encodedLower == null ? 0 : encodedLower.length);
+        if (usedBytes + needed > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, usedBytes + needed));
+        }
+        if (count == offsets.length) {
+            offsets = Arrays.copyOf(offsets, count * 2);
+            lengths = Arrays.copyOf(lengths, count * 2);
+            hashes = Arrays.copyOf(hashes, count * 2);
+            lowerOffsets = Arrays.copyOf(lowerOffsets, count * 2);
+            lowerLengths = Arrays.copyOf(lowerLengths, count * 2);
+        }
+
+        System.arraycopy(encoded, 0, bytes, usedBytes, encoded.length);
+        offsets[count] = usedBytes;
+        lengths[count] = encoded.length;
+        hashes[count] = hash;
+        usedBytes += encoded.length;
+        if (encodedLower == null) {
+            lowerOffsets[count] = offsets[count];
+            lowerLengths[count] = lengths[count];
+        } else {
+            System.arraycopy(encodedLower, 0, bytes, usedBytes, encodedLower.length);
+            lowerOffsets[count] = usedBytes;
+            lowerLengths[count] = encodedLower.length;
+            usedBytes += encodedLower.length;
+        }
+        return count++;
+    }
+
+    private static int slotOf(int hash, int mask) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        int mask = capacity - 1;
+        for (int ref = 0; ref < count; ref++) {
+            int slot = slotOf(hashes[ref], mask);
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = ref + 1;
+        }
+    }
+}
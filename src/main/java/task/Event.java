@@ -1,7 +1,6 @@
 package task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Represents an event task, a subclass of Task.
@@ -26,15 +25,32 @@ public class Event extends Task {
         this.toDate = toDate;
     }
 
+    /**
+     * Returns the starting date and time of the event.
+     *
+     * @return The starting date of the event.
+     */
+    public LocalDateTime getFromDate() {
+        return fromDate;
+    }
+
+    /**
+     * Returns the ending date and time of the event.
+     *
+     * @return The ending date of the event.
+     */
+    public LocalDateTime getToDate() {
+        return toDate;
+    }
+
     /**
      * Returns a formatted string representation of the event for storage purposes.
      *
      * @return A formatted string representing the event in storage format.
      */
     public String getFormat() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
-        return "E | " + super.getFormat() + " | " + fromDate.format(formatter)
-                + " | " + toDate.format(formatter);
+        return "E | " + super.getFormat() + " | " + DateTimeFormats.formatStorage(fromDate)
+                + " | " + DateTimeFormats.formatStorage(toDate);
     }
 
     /**
@@ -45,8 +61,7 @@ public class Event extends Task {
      */
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-        return "[E]" + super.toString() + " (from: " + fromDate.format(formatter)
-                + " to: " + toDate.format(formatter) + ")";
+        return "[E]" + super.toString() + " (from: " + fromDate.format(DateTimeFormats.DISPLAY)
+                + " to: " + toDate.format(DateTimeFormats.DISPLAY) + ")";
     }
 }
@@ -0,0 +1,183 @@
+package task;
+
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Represents an interval tree over the date ranges of events.
+ * It is a treap ordered by start date, where every node also records the latest end date in its subtree,
+ * so that subtrees which end before a query window can be skipped entirely.
+ * Adding and removing an event take O(log n) expected time, and a window query O(log n + k).
+ */
+class EventIntervalTree {
+    private final IdentityHashMap<Event, Node> nodes = new IdentityHashMap<>();
+    private final Random random = new Random();
+    private Node root;
+    private long nextSequence;
+
+    /**
+     * Adds an event to the tree.
+     *
+     * @param event The event to add.
+     */
+    void add(Event event) {
+        Node node = new Node(event, nextSequence++, random.nextInt());
+        nodes.put(event, node);
+        Node[] parts = split(root, node, false);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    /**
+     * Removes an event from the tree.
+     *
+     * @param event The event to remove.
+     */
+    void remove(Event event) {
+        Node node = nodes.remove(event);
+        if (node == null) {
+            return;
+        }
+
+        Node[] parts = split(root, node, false);
+        Node[] rest = split(parts[1], node, true);
+        root = merge(parts[0], rest[1]);
+    }
+
+    /**
+     * Adds every event whose range overlaps the window to the list, ordered by start date.
+     *
+     * @param from    The start of the window (inclusive).
+     * @param to      The end of the window (inclusive).
+     * @param matches The list the events are added to.
+     */
+    void findOverlapping(LocalDateTime from, LocalDateTime to, List<Task> matches) {
+        findOverlapping(root, from, to, matches);
+    }
+
+    /**
+     * Adds every event whose range lies entirely inside the window to the list, ordered by start date.
+     *
+     * @param from    The start of the window (inclusive).
+     * @param to      The end of the window (inclusive).
+     * @param matches The list the events are added to.
+     */
+    void findWithin(LocalDateTime from, LocalDateTime to, List<Task> matches) {
+        findWithin(root, from, to, matches);
+    }
+
+    private static void findOverlapping(Node node, LocalDateTime from, LocalDateTime to, List<Task> matches) {
+        if (node == null || node.maxToDate.isBefore(from)) {
+            return;
+        }
+
+        findOverlapping(node.left, from, to, matches);
+        if (node.event.getFromDate().isAfter(to)) {
+            // Everything to the right starts even later
+            return;
+        }
+        if (!node.event.getToDate().isBefore(from)) {
+            matches.add(node.event);
+        }
+        findOverlapping(node.right, from, to, matches);
+    }
+
+    private static void findWithin(Node node, LocalDateTime from, LocalDateTime to, List<Task> matches) {
+        if (node == null) {
+            return;
+        }
+
+        LocalDateTime startDate = node.event.getFromDate();
+        if (!startDate.isBefore(from)) {
+            findWithin(node.left, from, to, matches);
+        }
+        if (!startDate.isBefore(from) && !startDate.isAfter(to) && !node.event.getToDate().isAfter(to)) {
+            matches.add(node.event);
+        }
+        if (!startDate.isAfter(to)) {
+            findWithin(node.right, from, to, matches);
+        }
+    }
+
+    /**
+     * Splits a subtree into the nodes ordered before the given node and the rest.
+     * If {@code isInclusive} is set, the given node itself goes into the first part.
+     */
+    private static Node[] split(Node node, Node key, boolean isInclusive) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+
+        int comparison = node.compareTo(key);
+        if (comparison < 0 || (isInclusive && comparison == 0)) {
+            Node[] parts = split(node.right, key, isInclusive);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        } else {
+            Node[] parts = split(node.left, key, isInclusive);
+            node.left = parts[1];
+            update(node);
+            parts[1] = node;
+            return parts;
+        }
+    }
+
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            update(first);
+            return first;
+        } else {
+            second.left = merge(first, second.left);
+            update(second);
+            return second;
+        }
+    }
+
+    private static void update(Node node) {
+        LocalDateTime maxToDate = node.event.getToDate();
+        if (node.left != null && node.left.maxToDate.isAfter(maxToDate)) {
+            maxToDate = node.left.maxToDate;
+        }
+        if (node.right != null && node.right.maxToDate.isAfter(maxToDate)) {
+            maxToDate = node.right.maxToDate;
+        }
+        node.maxToDate = maxToDate;
+    }
+
+    /**
+     * Represents a node of the tree holding a single event.
+     * Events starting at the same time are ordered by when they were added.
+     */
+    private static class Node implements Comparable<Node> {
+        private final Event event;
+        private final long sequence;
+        private final int priority;
+        private LocalDateTime maxToDate;
+        private Node left;
+        private Node right;
+
+        Node(Event event, long sequence, int priority) {
+            this.event = event;
+            this.sequence = sequence;
+            this.priority = priority;
+            this.maxToDate = event.getToDate();
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int comparison = event.getFromDate().compareTo(other.event.getFromDate());
+            return comparison != 0 ? comparison : Long.compare(sequence, other.sequence);
+        }
+    }
+}
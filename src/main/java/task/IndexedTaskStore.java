@@ -0,0 +1,128 @@
+package task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Represents the default store of a {@link TaskList}, which keeps each task as an object.
+ * Tasks are kept in a {@link TaskTree}, so access, insertion and removal by position take O(log n) time,
+ * and are indexed by ID, by the trigrams of their description and by their dates, so that lookups and
+ * queries do not scan the whole list.
+ */
+class IndexedTaskStore implements TaskStore {
+    private final TaskTree tasks = new TaskTree();
+    private final LongTaskMap tasksById = new LongTaskMap();
+    private final SearchIndex searchIndex = new SearchIndex();
+    private final DateIndex dateIndex = new DateIndex();
+
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+
+    @Override
+    public Task get(int index) {
+        return tasks.get(index);
+    }
+
+    @Override
+    public void add(Task task) {
+        insert(tasks.size(), task);
+    }
+
+    @Override
+    public void insert(int index, Task task) {
+        tasks.insert(index, task);
+        tasksById.put(task.getId(), task);
+        searchIndex.add(task);
+        dateIndex.add(task);
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = tasks.remove(index);
+        tasksById.remove(task.getId());
+        searchIndex.remove(task);
+        dateIndex.remove(task);
+        return task;
+    }
+
+    @Override
+    public boolean isDone(int index) {
+        return tasks.get(index).isDone();
+    }
+
+    @Override
+    public Task setDone(int index, boolean isDone) {
+        Task task = tasks.get(index);
+        if (isDone) {
+            task.markDone();
+        } else {
+            task.unmarkDone();
+        }
+        return task;
+    }
+
+    @Override
+    public int indexOfId(long id) {
+        Task task = tasksById.get(id);
+        return task == null ? -1 : tasks.indexOf(task);
+    }
+
+    @Override
+    public Task getById(long id) {
+        return tasksById.get(id);
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return tasks.iterator();
+    }
+
+    @Override
+    public Iterator<Task> iterator(int fromIndex) {
+        return tasks.iterator(fromIndex);
+    }
+
+    /**
+     * Returns the tasks containing the query, in list order.
+     * Queries of three or more characters are looked up in the search index;
+     * shorter ones are matched against every task.
+     *
+     * @param query The lower-cased text to search for.
+     * @return The matching tasks.
+     */
+    @Override
+    public List<Task> findContaining(String query) {
+        List<Task> matches = searchIndex.search(query);
+        if (matches == null) {
+            matches = new ArrayList<>();
+            for (Task task : tasks) {
+                if (task.getSearchKey().contains(query)) {
+                    matches.add(task);
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(tasks::indexOf));
+        return matches;
+    }
+
+    @Override
+    public List<Task> findDueBefore(LocalDateTime date) {
+        return dateIndex.findDueBefore(date);
+    }
+
+    @Override
+    public List<Task> findWithin(LocalDateTime from, LocalDateTime to) {
+        return dateIndex.findWithin(from, to);
+    }
+
+    @Override
+    public List<Task> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        return dateIndex.findOverlapping(from, to);
+    }
+}
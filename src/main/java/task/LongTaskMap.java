@@ -0,0 +1,122 @@
+package task;
+
+/**
+ * Maps task IDs to tasks using open addressing over primitive arrays, so that finding a task by its ID
+ * takes O(1) expected time without boxing the ID or allocating an entry per task.
+ * IDs must be positive, as 0 marks an empty slot.
+ */
+final class LongTaskMap {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Task[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructs an empty LongTaskMap.
+     */
+    LongTaskMap() {
+        keys = new long[MIN_CAPACITY];
+        values = new Task[MIN_CAPACITY];
+        mask = MIN_CAPACITY - 1;
+    }
+
+    /**
+     * Returns the number of tasks in the map.
+     *
+     * @return The number of tasks.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the task with the given ID.
+     *
+     * @param id The ID of the task.
+     * @return The task, or {@code null} if there is no task with that ID.
+     */
+    Task get(long id) {
+        for (int slot = slotOf(id); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == id) {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps the ID to the task, replacing any task it was mapped to before.
+     *
+     * @param id   The ID of the task, which must be positive.
+     * @param task The task.
+     */
+    void put(long id, Task task) {
+        assert id > 0 : "Task IDs must be positive";
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+
+        int slot = slotOf(id);
+        while (keys[slot] != 0 && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == 0) {
+            size++;
+        }
+        keys[slot] = id;
+        values[slot] = task;
+    }
+
+    /**
+     * Removes the task with the given ID.
+     *
+     * @param id The ID of the task.
+     * @return The removed task, or {@code null} if there was no task with that ID.
+     */
+    Task remove(long id) {
+        int slot = slotOf(id);
+        while (keys[slot] != id) {
+            if (keys[slot] == 0) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        Task removed = values[slot];
+
+        // Shift later entries of the same run back into the gap, so that no lookup stops early at it
+        int gap = slot;
+        for (int next = (slot + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = slotOf(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    private int slotOf(long id) {
+        // Fibonacci hashing spreads consecutive IDs across the table
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Task[] oldValues = values;
+        keys = new long[capacity];
+        values = new Task[capacity];
+        mask = capacity - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
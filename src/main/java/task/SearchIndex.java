@@ -0,0 +1,242 @@
+package task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Represents an inverted index from the trigrams of each task's lower-cased description to the tasks containing them.
+ * A substring query is narrowed down to the tasks sharing every trigram of the query,
+ * and only those candidates are checked with {@link String#contains(CharSequence)}.
+ * Every word of three or more characters is covered by its trigrams, so no separate word index is kept.
+ * Trigrams are packed into longs and kept in a primitive open-addressed map, so none of them is boxed.
+ */
+class SearchIndex {
+    static final int GRAM_LENGTH = 3;
+    private static final int MIN_REBUILD_SIZE = 1024;
+
+    private final PostingsMap postings = new PostingsMap();
+    private final ArrayList<Task> tasksBySlot = new ArrayList<>();
+    private final IdentityHashMap<Task, Integer> slots = new IdentityHashMap<>();
+    private int removedCount;
+
+    /**
+     * Adds a task to the index.
+     *
+     * @param task The task to index.
+     */
+    void add(Task task) {
+        int slot = tasksBySlot.size();
+        tasksBySlot.add(task);
+        slots.put(task, slot);
+
+        for (long gram : gramsOf(task.getSearchKey())) {
+            postings.getOrCreate(gram).add(slot);
+        }
+    }
+
+    /**
+     * Removes a task from the index. Its postings are dropped lazily, once enough removed tasks have piled up.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        Integer slot = slots.remove(task);
+        if (slot == null) {
+            return;
+        }
+
+        tasksBySlot.set(slot, null);
+        removedCount++;
+        if (removedCount >= MIN_REBUILD_SIZE && removedCount > slots.size()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns the tasks whose lower-cased description contains the query, in no particular order.
+     *
+     * @param query The lower-cased query.
+     * @return The matching tasks, or {@code null} if the query is too short to be looked up in the index.
+     */
+    List<Task> search(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return null;
+        }
+
+        long[] grams = gramsOf(query);
+        Postings[] lists = new Postings[grams.length];
+        int count = 0;
+        for (long gram : grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return new ArrayList<>();
+            }
+            lists[count++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        int[] candidates = Arrays.copyOf(lists[0].slots, lists[0].size);
+        int candidateCount = candidates.length;
+        for (int i = 1; i < lists.length && candidateCount > 0; i++) {
+            candidateCount = lists[i].retainAll(candidates, candidateCount);
+        }
+
+        List<Task> matches = new ArrayList<>();
+        for (int i = 0; i < candidateCount; i++) {
+            Task task = tasksBySlot.get(candidates[i]);
+            if (task != null && task.getSearchKey().contains(query)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Rebuilds the index from the tasks that are still present, dropping the postings of removed tasks.
+     */
+    private void rebuild() {
+        List<Task> liveTasks = new ArrayList<>(slots.size());
+        for (Task task : tasksBySlot) {
+            if (task != null) {
+                liveTasks.add(task);
+            }
+        }
+
+        postings.clear();
+        tasksBySlot.clear();
+        slots.clear();
+        removedCount = 0;
+        for (Task task : liveTasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Returns the distinct trigrams of the text, each packed into a long, in ascending order.
+     */
+    private static long[] gramsOf(String text) {
+        int gramCount = Math.max(text.length() - GRAM_LENGTH + 1, 0);
+        long[] grams = new long[gramCount];
+        for (int i = 0; i < gramCount; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+
+        int distinctCount = 0;
+        for (int i = 0; i < gramCount; i++) {
+            if (distinctCount == 0 || grams[i] != grams[distinctCount - 1]) {
+                grams[distinctCount++] = grams[i];
+            }
+        }
+        return distinctCount == gramCount ? grams : Arrays.copyOf(grams, distinctCount);
+    }
+
+    /**
+     * Maps packed trigrams to their postings using open addressing over primitive arrays, in the same way as
+     * {@link LongTaskMap}. Postings are never removed one by one, only all at once when the index is rebuilt.
+     */
+    private static class PostingsMap {
+        private static final int MIN_CAPACITY = 64;
+
+        // Keys are stored plus one, so that 0 can mark an empty slot even for the trigram of three '\0's
+        private long[] keys = new long[MIN_CAPACITY];
+        private Postings[] values = new Postings[MIN_CAPACITY];
+        private int mask = MIN_CAPACITY - 1;
+        private int size;
+
+        Postings get(long gram) {
+            long key = gram + 1;
+            for (int slot = slotOf(key); keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return null;
+        }
+
+        Postings getOrCreate(long gram) {
+            if ((size + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            long key = gram + 1;
+            int slot = slotOf(key);
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = new Postings();
+            size++;
+            return values[slot];
+        }
+
+        void clear() {
+            keys = new long[MIN_CAPACITY];
+            values = new Postings[MIN_CAPACITY];
+            mask = MIN_CAPACITY - 1;
+            size = 0;
+        }
+
+        private int slotOf(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            Postings[] oldValues = values;
+            keys = new long[capacity];
+            values = new Postings[capacity];
+            mask = capacity - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = slotOf(oldKeys[i]);
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Represents the slots of the tasks containing one trigram, in ascending order.
+     */
+    private static class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        /**
+         * Keeps only the candidates that also appear in this list, preserving their order.
+         *
+         * @return The number of candidates left at the front of the array.
+         */
+        int retainAll(int[] candidates, int candidateCount) {
+            int kept = 0;
+            int i = 0;
+            for (int c = 0; c < candidateCount; c++) {
+                int candidate = candidates[c];
+                while (i < size && slots[i] < candidate) {
+                    i++;
+                }
+                if (i < size && slots[i] == candidate) {
+                    candidates[kept++] = candidate;
+                }
+            }
+            return kept;
+        }
+    }
+}
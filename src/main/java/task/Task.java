@@ -2,10 +2,13 @@ package task;
 
 /**
  * Represents a task with a description and a completion status.
+ * The completion status is volatile, so a thread reading a task sees it marked as soon as it has been marked.
  */
 public abstract class Task {
     protected String description;
-    protected boolean isDone;
+    protected volatile boolean isDone;
+    private final String searchKey;
+    private long id;
 
     /**
      * Constructs a Task with the specified description and completion status.
@@ -16,6 +19,7 @@ public abstract class Task {
     public Task(String description, boolean isDone) {
         this.description = description;
         this.isDone = isDone;
+        this.searchKey = description.toLowerCase();
     }
 
     /**
@@ -28,14 +32,43 @@ public abstract class Task {
     }
 
     /**
-     * Returns a copy of the task's description.
+     * Returns the task's description.
      *
-     * @return A copy of the description of the task.
+     * @return The description of the task.
      */
     public String getDescription() {
-        return new String(description);
+        return description;
     }
 
+    /**
+     * Returns the ID of the task, which stays the same while the task is in the list, unlike its position.
+     *
+     * @return The ID of the task, or 0 if it has not been added to a list yet.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the task. IDs are assigned by the {@link TaskList} the task is added to,
+     * and restored when a saved task is loaded.
+     *
+     * @param id The ID of the task, which must be positive.
+     */
+    public void setId(long id) {
+        assert id > 0 : "Task IDs must be positive";
+        this.id = id;
+    }
+
+    /**
+     * Returns the lower-cased description used when searching for the task.
+     * It is computed once when the task is created, so searching does not allocate a copy per task.
+     *
+     * @return The normalized description of the task.
+     */
+    public String getSearchKey() {
+        return searchKey;
+    }
 
     /**
      * Marks the task as done.
@@ -0,0 +1,51 @@
+package task;
+
+/**
+ * Represents a single change made to a task list since it was last saved.
+ * Changes are kept in the order they were made, and positions refer to the list as it was at that moment.
+ */
+public class TaskChange {
+    /**
+     * Represents the kinds of change that can be made to a task list.
+     */
+    public enum Type {
+        ADD, INSERT, DELETE, MARK, UNMARK
+    }
+
+    private final Type type;
+    private final int index;
+    private final Task task;
+
+    private TaskChange(Type type, int index, Task task) {
+        this.type = type;
+        this.index = index;
+        this.task = task;
+    }
+
+    static TaskChange of(Type type, int index, Task task) {
+        return new TaskChange(type, index, task);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the position of the task that was changed.
+     *
+     * @return The position of the task (0-based).
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the task that was changed. For an added task this is the task itself,
+     * so it reflects any later changes made to it as well.
+     *
+     * @return The changed task.
+     */
+    public Task getTask() {
+        return task;
+    }
+}
@@ -2,29 +2,99 @@ package task;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Manages a list of tasks and provides methods to handle user input.
+ * Tasks are kept in a {@link TaskStore}: by default an {@link IndexedTaskStore}, in which access, insertion
+ * and removal by position take O(log n) time and queries are answered from indices,
+ * or for very large lists a {@link ColumnarTaskStore}, which takes far less memory per task.
+ * Every change is also logged until the list is next saved, so that only the changes need to be written.
+ * Each task is given an ID when it is added, one higher than any given before, so IDs are never reused.
+ * A TaskList is not thread-safe; code that shares one between threads must lock around each use of it.
  */
-public class TaskList {
-    private final ArrayList<Task> tasks;
+public class TaskList implements Iterable<Task> {
+    private static final int POSITION_LOG_SIZE = 256;
+
+    private final TaskStore tasks;
+    private ArrayList<TaskChange> unsavedChanges = new ArrayList<>();
+    private final int[] positionLog = new int[POSITION_LOG_SIZE];
+    private long version;
+    private long nextId = 1;
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new IndexedTaskStore());
+    }
+
+    /**
+     * Constructs an empty TaskList that keeps its tasks in the given store.
+     *
+     * @param tasks The empty store to keep the tasks in.
+     */
+    TaskList(TaskStore tasks) {
+        this.tasks = tasks;
+    }
+
+    /**
+     * Constructs an empty TaskList that keeps its tasks in compact columns of primitive values,
+     * for lists of millions of tasks. It takes a fraction of the memory of the default list,
+     * but searching scans every task and inserting or deleting a task before the end takes O(n) time.
+     * The tasks it returns are copies made on demand, so a task must be changed through the list,
+     * such as with {@link #markTask(int)}, rather than by changing the returned task.
+     *
+     * @return The empty compact task list.
+     */
+    public static TaskList createCompact() {
+        return new TaskList(new ColumnarTaskStore());
     }
 
     /**
      * Adds a task to the task list without returning any output.
+     * The task keeps its ID if it has one that has not been given out yet, as when a saved task is loaded,
+     * and is given the next ID otherwise.
      *
      * @param task The task to be added.
      */
     public void addTask(Task task) {
+        if (task.getId() < nextId) {
+            task.setId(nextId);
+        }
+        nextId = task.getId() + 1;
         tasks.add(task);
+        unsavedChanges.add(TaskChange.of(TaskChange.Type.ADD, tasks.size() - 1, task));
+    }
+
+    /**
+     * Inserts a task at the given position, moving the tasks from that position on one place back.
+     * The task keeps its ID if it has one that no task in the list has, as when a deleted task is restored,
+     * and is given the next ID otherwise.
+     *
+     * @param index The position to insert the task at (0-based), from 0 to the size of the list.
+     * @param task  The task to be inserted.
+     */
+    public void insertTask(int index, Task task) {
+        if (task.getId() <= 0 || tasks.indexOfId(task.getId()) >= 0) {
+            task.setId(nextId);
+        }
+        nextId = Math.max(nextId, task.getId() + 1);
+        if (index == tasks.size()) {
+            tasks.add(task);
+            // Logged as an insertion even at the end, as replaying an addition would give the task a new ID
+            unsavedChanges.add(TaskChange.of(TaskChange.Type.INSERT, index, task));
+            return;
+        }
+
+        tasks.insert(index, task);
+        unsavedChanges.add(TaskChange.of(TaskChange.Type.INSERT, index, task));
+        // Stored complemented, to tell it apart from a deletion
+        positionLog[(int) (version % POSITION_LOG_SIZE)] = ~index;
+        version++;
     }
 
     /**
@@ -78,7 +148,7 @@ public class TaskList {
      */
     private String printAfterAdd(Task task) {
         return "Got it. I've added this task:\n"
-                + task + "\n"
+                + task + " (#" + task.getId() + ")\n"
                 + "Now you have " + tasks.size() + " tasks in the list.";
     }
 
@@ -90,21 +160,47 @@ public class TaskList {
     public String listAllTasks() {
         StringBuilder result = new StringBuilder();
 
-        if (tasks.isEmpty()) {
+        if (isEmpty()) {
             result.append("There is no task in your list. Please add some to see the list.");
         } else {
             result.append("Here are the tasks in your list:\n");
-            for (int i = 0; i < tasks.size(); i++) {
+            int i = 0;
+            for (Task task : tasks) {
                 if (i != 0) {
                     result.append("\n");
                 }
-                result.append((i + 1)).append(".").append(tasks.get(i));
+                result.append((i + 1)).append(".").append(task);
+                i++;
             }
         }
 
         return result.toString();
     }
 
+    /**
+     * Lists a window of the task list. Only the tasks inside the window are visited and formatted.
+     *
+     * @param offset The index of the first task to list (0-based).
+     * @param limit  The maximum number of tasks to list.
+     * @return A formatted string of the tasks in the window.
+     */
+    public String listTasks(int offset, int limit) {
+        if (isEmpty()) {
+            return "There is no task in your list. Please add some to see the list.";
+        }
+
+        int end = (int) Math.min((long) offset + limit, tasks.size());
+        StringBuilder result = new StringBuilder();
+        result.append("Here are tasks ").append(offset + 1).append("-").append(end)
+                .append(" of ").append(tasks.size()).append(" in your list:");
+
+        Iterator<Task> iterator = tasks.iterator(offset);
+        for (int i = offset; i < end; i++) {
+            result.append("\n").append(i + 1).append(".").append(iterator.next());
+        }
+        return result.toString();
+    }
+
     /**
      * Deletes a task from the task list by its index.
      *
@@ -112,7 +208,7 @@ public class TaskList {
      * @return A message confirming the deletion of the task.
      */
     public String deleteTask(int index) {
-        Task tmp = tasks.remove(index);
+        Task tmp = removeAt(index);
         return "Noted. I've removed this task:\n"
                 + tmp + "\n"
                 + "Now you have " + tasks.size() + " tasks in the list.";
@@ -125,8 +221,7 @@ public class TaskList {
      * @return A message confirming the task has been marked.
      */
     public String markTask(int index) {
-        Task task = tasks.get(index);
-        task.markDone();
+        Task task = setDone(index, true);
         return "Nice! I've marked this task as done:\n" + task;
     }
 
@@ -137,23 +232,149 @@ public class TaskList {
      * @return A message confirming the task has been unmarked.
      */
     public String unmarkTask(int index) {
-        Task task = tasks.get(index);
-        task.unmarkDone();
+        Task task = setDone(index, false);
         return "OK, I've marked this task as not done yet:\n" + task;
     }
 
     /**
-     * Finds tasks that contain the given keyword in their description.
+     * Deletes several tasks in one pass. Tasks are removed from the back so that
+     * the remaining indices do not shift while the batch is applied.
+     *
+     * @param indices The distinct indices of the tasks to be removed (0-based), in ascending order.
+     * @return A message confirming the deletion of the tasks.
+     */
+    public String deleteTasks(int[] indices) {
+        Task[] removed = new Task[indices.length];
+        for (int i = indices.length - 1; i >= 0; i--) {
+            removed[i] = removeAt(indices[i]);
+        }
+
+        return "Noted. I've removed these " + removed.length + " tasks:\n"
+                + joinLines(removed) + "\n"
+                + "Now you have " + tasks.size() + " tasks in the list.";
+    }
+
+    /**
+     * Marks several tasks as done.
+     *
+     * @param indices The distinct indices of the tasks to be marked (0-based), in ascending order.
+     * @return A message confirming the tasks have been marked.
+     */
+    public String markTasks(int[] indices) {
+        Task[] marked = new Task[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            marked[i] = setDone(indices[i], true);
+        }
+        return "Nice! I've marked these " + marked.length + " tasks as done:\n" + joinLines(marked);
+    }
+
+    /**
+     * Unmarks several tasks (sets them as not done).
+     *
+     * @param indices The distinct indices of the tasks to be unmarked (0-based), in ascending order.
+     * @return A message confirming the tasks have been unmarked.
+     */
+    public String unmarkTasks(int[] indices) {
+        Task[] unmarked = new Task[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            unmarked[i] = setDone(indices[i], false);
+        }
+        return "OK, I've marked these " + unmarked.length + " tasks as not done yet:\n" + joinLines(unmarked);
+    }
+
+    /**
+     * Removes the task at the given index from the list and from every index over it.
+     *
+     * @param index The index of the task to be removed (0-based).
+     * @return The removed task.
+     */
+    private Task removeAt(int index) {
+        Task task = tasks.remove(index);
+        unsavedChanges.add(TaskChange.of(TaskChange.Type.DELETE, index, task));
+        positionLog[(int) (version % POSITION_LOG_SIZE)] = index;
+        version++;
+        return task;
+    }
+
+    /**
+     * Marks the task at the given index as done or not done.
+     * A change is only logged if the task was not already in that state.
+     *
+     * @param index  The index of the task (0-based).
+     * @param isDone Whether the task is done.
+     * @return The task.
+     */
+    private Task setDone(int index, boolean isDone) {
+        if (tasks.isDone(index) == isDone) {
+            return tasks.get(index);
+        }
+        Task task = tasks.setDone(index, isDone);
+        unsavedChanges.add(TaskChange.of(isDone ? TaskChange.Type.MARK : TaskChange.Type.UNMARK, index, task));
+        return task;
+    }
+
+    private static String joinLines(Task[] tasks) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < tasks.length; i++) {
+            if (i != 0) {
+                result.append("\n");
+            }
+            result.append(tasks[i]);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Finds tasks that contain the given keyword in their description, ignoring case.
      *
      * @param description The keyword to search for.
      * @return A list of matching tasks or a message if none are found.
      */
     public String findTask(String description) {
-        final String query = description.toLowerCase();
+        return formatMatches(tasks.findContaining(description.toLowerCase()));
+    }
 
-        String result = IntStream.range(0, tasks.size())
-            .filter(i -> tasks.get(i).getDescription().toLowerCase().contains(query))
-            .mapToObj(i -> (i + 1) + "." + tasks.get(i))
+    /**
+     * Finds deadlines that are due before the given date.
+     *
+     * @param date The date the deadlines must be due before.
+     * @return A list of matching tasks, earliest first, or a message if none are found.
+     */
+    public String findDueBefore(LocalDateTime date) {
+        return formatMatches(tasks.findDueBefore(date));
+    }
+
+    /**
+     * Finds deadlines due between the given dates, and events that start and end between them.
+     *
+     * @param from The start of the period (inclusive).
+     * @param to   The end of the period (inclusive).
+     * @return A list of matching tasks, earliest first, or a message if none are found.
+     */
+    public String findBetween(LocalDateTime from, LocalDateTime to) {
+        return formatMatches(tasks.findWithin(from, to));
+    }
+
+    /**
+     * Finds deadlines due between the given dates, and events that overlap the period between them.
+     *
+     * @param from The start of the period (inclusive).
+     * @param to   The end of the period (inclusive).
+     * @return A list of matching tasks, earliest first, or a message if none are found.
+     */
+    public String findOverlapping(LocalDateTime from, LocalDateTime to) {
+        return formatMatches(tasks.findOverlapping(from, to));
+    }
+
+    /**
+     * Formats matching tasks with their 1-based position in the list.
+     *
+     * @param matches The matching tasks, in the order they should be shown.
+     * @return A list of matching tasks or a message if there are none.
+     */
+    private String formatMatches(List<Task> matches) {
+        String result = matches.stream()
+            .map(task -> (tasks.indexOfId(task.getId()) + 1) + "." + task)
             .collect(Collectors.joining("\n"));
 
         return result.isEmpty()
@@ -161,6 +382,16 @@ public class TaskList {
             : "Here are the matching tasks:\n" + result;
     }
 
+    /**
+     * Returns the task at the given index.
+     *
+     * @param index The index of the task (0-based).
+     * @return The task at the given index.
+     */
+    public Task getTask(int index) {
+        return tasks.get(index);
+    }
+
     /**
      * Returns the number of tasks in the list.
      *
@@ -176,7 +407,162 @@ public class TaskList {
      * @return {@code true} if the list is empty, {@code false} otherwise.
      */
     public boolean isEmpty() {
-        return tasks.isEmpty();
+        return tasks.size() == 0;
+    }
+
+    /**
+     * Returns the task with the given ID.
+     *
+     * @param id The ID of the task.
+     * @return The task, or {@code null} if no task in the list has that ID.
+     */
+    public Task getTaskById(long id) {
+        return tasks.getById(id);
+    }
+
+    /**
+     * Returns the current position of the task with the given ID.
+     *
+     * @param id The ID of the task.
+     * @return The position of the task (0-based), or -1 if no task in the list has that ID.
+     */
+    public int indexOfId(long id) {
+        return tasks.indexOfId(id);
+    }
+
+    /**
+     * Returns the ID the next task added to the list will be given.
+     *
+     * @return The next ID.
+     */
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Makes sure that no task added from now on is given an ID below the given one,
+     * such as the IDs of tasks that were deleted before the list was saved.
+     *
+     * @param nextId The lowest ID that may be given to a new task.
+     */
+    public void reserveIdsBelow(long nextId) {
+        this.nextId = Math.max(this.nextId, nextId);
+    }
+
+    /**
+     * Returns the version of the numbering of the list. It goes up by one whenever a task is deleted
+     * or inserted before the end, which are the only changes that give existing tasks a different number.
+     *
+     * @return The version of the list.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the positions of the tasks deleted or inserted since the list was at the given version,
+     * in the order it happened. A deletion is given as the position the task was deleted from,
+     * and an insertion as the complement ({@code ~position}) of the position the task was inserted at,
+     * which is always negative. Each position is relative to the list as it was just before that change.
+     *
+     * @param sinceVersion An earlier version of the list, as returned by {@link #getVersion()}.
+     * @return The changed positions (0-based), or {@code null} if there have been too many changes since to tell.
+     */
+    public int[] getPositionChangesSince(long sinceVersion) {
+        long count = version - sinceVersion;
+        if (count < 0 || count > POSITION_LOG_SIZE) {
+            return null;
+        }
+
+        int[] changes = new int[(int) count];
+        for (int i = 0; i < changes.length; i++) {
+            changes[i] = positionLog[(int) ((sinceVersion + i) % POSITION_LOG_SIZE)];
+        }
+        return changes;
+    }
+
+    /**
+     * Undoes the given changes, which must be the latest changes made to the list, newest last.
+     * Deleted tasks are put back where they were, with their IDs, and added tasks are removed.
+     * Undoing is itself logged as changes, so it is saved like any other change.
+     *
+     * @param changes The changes to undo.
+     */
+    public void revert(List<TaskChange> changes) {
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            TaskChange change = changes.get(i);
+            switch (change.getType()) {
+            case ADD:
+            case INSERT:
+                removeAt(change.getIndex());
+                break;
+            case DELETE:
+                insertTask(change.getIndex(), change.getTask());
+                break;
+            case MARK:
+                setDone(change.getIndex(), false);
+                break;
+            default:
+                setDone(change.getIndex(), true);
+            }
+        }
+    }
+
+    /**
+     * Makes the given changes again, after they have been undone by {@link #revert(List)}, oldest first.
+     *
+     * @param changes The changes to make again.
+     */
+    public void reapply(List<TaskChange> changes) {
+        for (TaskChange change : changes) {
+            switch (change.getType()) {
+            case ADD:
+            case INSERT:
+                insertTask(change.getIndex(), change.getTask());
+                break;
+            case DELETE:
+                removeAt(change.getIndex());
+                break;
+            case MARK:
+                setDone(change.getIndex(), true);
+                break;
+            default:
+                setDone(change.getIndex(), false);
+            }
+        }
+    }
+
+    /**
+     * Returns the changes made since the list was last saved, oldest first.
+     *
+     * @return A read-only view of the unsaved changes.
+     */
+    public List<TaskChange> getUnsavedChanges() {
+        return Collections.unmodifiableList(unsavedChanges);
+    }
+
+    /**
+     * Records that every change so far has been saved.
+     */
+    public void markSaved() {
+        if (unsavedChanges.size() > 1024) {
+            // Let go of the room taken by a large batch, such as the tasks added while loading
+            unsavedChanges = new ArrayList<>();
+        } else {
+            unsavedChanges.clear();
+        }
+    }
+
+    /**
+     * Returns an iterator over the tasks in order, without copying the list.
+     * The tasks of a compact list are made one at a time as the iterator reaches them.
+     * The list must not be changed while it is being iterated.
+     *
+     * @return An iterator over the tasks.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return tasks.iterator();
     }
 
     /**
@@ -185,6 +571,10 @@ public class TaskList {
      * @return A new {@code ArrayList} containing all tasks.
      */
     public ArrayList<Task> getAllTasks() {
-        return new ArrayList<>(this.tasks);
+        ArrayList<Task> copy = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            copy.add(task);
+        }
+        return copy;
     }
 }
@@ -0,0 +1,134 @@
+package task;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Represents the storage behind a {@link TaskList}: the tasks in order, looked up by position or by ID,
+ * and the queries over them.
+ * A TaskList keeps the change log, the IDs and the numbering, and leaves how the tasks are held to its store.
+ */
+interface TaskStore extends Iterable<Task> {
+    /**
+     * Returns the number of tasks in the store.
+     *
+     * @return The number of tasks.
+     */
+    int size();
+
+    /**
+     * Returns the task at the given position.
+     *
+     * @param index The position of the task (0-based).
+     * @return The task at the given position.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    Task get(int index);
+
+    /**
+     * Appends a task to the end of the store. The task must already have its ID.
+     *
+     * @param task The task to append.
+     */
+    void add(Task task);
+
+    /**
+     * Inserts a task at the given position, shifting the tasks after it back by one.
+     * The task must already have its ID.
+     *
+     * @param index The position to insert the task at (0-based).
+     * @param task  The task to insert.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    void insert(int index, Task task);
+
+    /**
+     * Removes the task at the given position, shifting the tasks after it forward by one.
+     *
+     * @param index The position of the task (0-based).
+     * @return The removed task.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    Task remove(int index);
+
+    /**
+     * Returns whether the task at the given position is done.
+     *
+     * @param index The position of the task (0-based).
+     * @return {@code true} if the task is done.
+     */
+    boolean isDone(int index);
+
+    /**
+     * Marks the task at the given position as done or not done.
+     *
+     * @param index  The position of the task (0-based).
+     * @param isDone Whether the task is done.
+     * @return The task, as it is now.
+     */
+    Task setDone(int index, boolean isDone);
+
+    /**
+     * Returns the position of the task with the given ID.
+     *
+     * @param id The ID of the task.
+     * @return The position of the task (0-based), or -1 if no task in the store has that ID.
+     */
+    int indexOfId(long id);
+
+    /**
+     * Returns the task with the given ID.
+     *
+     * @param id The ID of the task.
+     * @return The task, or {@code null} if no task in the store has that ID.
+     */
+    default Task getById(long id) {
+        int index = indexOfId(id);
+        return index < 0 ? null : get(index);
+    }
+
+    /**
+     * Returns an iterator over the tasks from the given position on.
+     *
+     * @param fromIndex The position of the first task to return (0-based).
+     * @return An iterator over the tasks.
+     */
+    Iterator<Task> iterator(int fromIndex);
+
+    /**
+     * Returns the tasks whose lower-cased description contains the given query, in list order.
+     *
+     * @param query The lower-cased text to search for.
+     * @return The matching tasks.
+     */
+    List<Task> findContaining(String query);
+
+    /**
+     * Returns the deadlines due strictly before the given date, earliest first.
+     *
+     * @param date The date the deadlines must be due before.
+     * @return The matching deadlines.
+     */
+    List<Task> findDueBefore(LocalDateTime date);
+
+    /**
+     * Returns the deadlines due inside the window and the events lying entirely inside it,
+     * ordered by due date or start date.
+     *
+     * @param from The start of the window (inclusive).
+     * @param to   The end of the window (inclusive).
+     * @return The matching tasks.
+     */
+    List<Task> findWithin(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Returns the deadlines due inside the window and the events overlapping it,
+     * ordered by due date or start date.
+     *
+     * @param from The start of the window (inclusive).
+     * @param to   The end of the window (inclusive).
+     * @return The matching tasks.
+     */
+    List<Task> findOverlapping(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,256 @@
+package task;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Represents a sequence of tasks stored in an implicit treap, a randomly balanced binary tree
+ * ordered by position rather than by key.
+ * Each node knows the size of its subtree, so getting, inserting and removing a task by position,
+ * as well as finding the position of a task, take O(log n) expected time.
+ */
+class TaskTree implements Iterable<Task> {
+    private final IdentityHashMap<Task, Node> nodes = new IdentityHashMap<>();
+    private final Random random = new Random();
+    private Node root;
+
+    /**
+     * Returns the number of tasks in the tree.
+     *
+     * @return The number of tasks.
+     */
+    int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Returns the task at the given position.
+     *
+     * @param index The position of the task (0-based).
+     * @return The task at the given position.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    Task get(int index) {
+        return nodeAt(index).task;
+    }
+
+    /**
+     * Appends a task to the end of the tree.
+     *
+     * @param task The task to append.
+     */
+    void add(Task task) {
+        insert(size(), task);
+    }
+
+    /**
+     * Inserts a task at the given position, shifting the tasks after it back by one.
+     *
+     * @param index The position to insert the task at (0-based).
+     * @param task  The task to insert.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    void insert(int index, Task task) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        Node node = new Node(task, random.nextInt());
+        nodes.put(task, node);
+        Node[] parts = split(root, index);
+        root = merge(merge(parts[0], node), parts[1]);
+        root.parent = null;
+    }
+
+    /**
+     * Removes the task at the given position, shifting the tasks after it forward by one.
+     *
+     * @param index The position of the task (0-based).
+     * @return The removed task.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    Task remove(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        Node[] parts = split(root, index);
+        Node[] rest = split(parts[1], 1);
+        root = merge(parts[0], rest[1]);
+        if (root != null) {
+            root.parent = null;
+        }
+
+        Task task = rest[0].task;
+        nodes.remove(task);
+        return task;
+    }
+
+    /**
+     * Returns the position of the given task.
+     *
+     * @param task The task to look for.
+     * @return The position of the task (0-based), or -1 if it is not in the tree.
+     */
+    int indexOf(Task task) {
+        Node node = nodes.get(task);
+        if (node == null) {
+            return -1;
+        }
+
+        int index = sizeOf(node.left);
+        while (node.parent != null) {
+            if (node == node.parent.right) {
+                index += sizeOf(node.parent.left) + 1;
+            }
+            node = node.parent;
+        }
+        return index;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Returns an iterator over the tasks from the given position onwards.
+     * Moving to the next task takes amortised constant time.
+     *
+     * @param fromIndex The position of the first task returned (0-based).
+     * @return An iterator over the tasks in order.
+     */
+    Iterator<Task> iterator(int fromIndex) {
+        return new Iterator<>() {
+            private Node next = fromIndex < size() ? nodeAt(fromIndex) : null;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Task next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Task task = next.task;
+                next = successor(next);
+                return task;
+            }
+        };
+    }
+
+    private Node nodeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        Node node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    private static Node successor(Node node) {
+        if (node.right != null) {
+            node = node.right;
+            while (node.left != null) {
+                node = node.left;
+            }
+            return node;
+        }
+
+        while (node.parent != null && node == node.parent.right) {
+            node = node.parent;
+        }
+        return node.parent;
+    }
+
+    /**
+     * Splits a subtree into the first {@code count} nodes and the rest.
+     */
+    private static Node[] split(Node node, int count) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+
+        int leftSize = sizeOf(node.left);
+        if (count <= leftSize) {
+            Node[] parts = split(node.left, count);
+            node.left = parts[1];
+            update(node);
+            parts[1] = node;
+            return parts;
+        } else {
+            Node[] parts = split(node.right, count - leftSize - 1);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+    }
+
+    /**
+     * Joins two subtrees, with every node of the first coming before every node of the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            update(first);
+            return first;
+        } else {
+            second.left = merge(first, second.left);
+            update(second);
+            return second;
+        }
+    }
+
+    private static void update(Node node) {
+        node.size = sizeOf(node.left) + sizeOf(node.right) + 1;
+        if (node.left != null) {
+            node.left.parent = node;
+        }
+        if (node.right != null) {
+            node.right.parent = node;
+        }
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Represents a node of the treap holding a single task.
+     */
+    private static class Node {
+        private final Task task;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+        private Node parent;
+
+        Node(Task task, int priority) {
+            this.task = task;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import main.Cow;
+import main.Response;
+import storage.Autosaver;
+import task.TaskList;
+
+/**
+ * Sends a generated mix of commands through {@link Cow#getResponse(String)} at a steady rate,
+ * and reports how long the commands took, by command type as well as overall, and how much the heap grew.
+ * Started as "--load-test FILE [options]", where the options are:
+ * <ul>
+ *     <li>{@code --commands N}: the number of commands to send (default 10000)</li>
+ *     <li>{@code --rate N}: the number of commands to send each second (default 1000)</li>
+ *     <li>{@code --seed N}: the seed, so that the same commands can be sent again</li>
+ *     <li>{@code --compact}: keep the tasks in a compact list, as {@link TaskList#createCompact()} does</li>
+ * </ul>
+ * The commands run against a copy of the task file, which is deleted afterwards, so the file itself is not changed.
+ * Each command's latency is counted from when it was due to be sent rather than when it was sent,
+ * so a slow command also counts against the commands that had to wait for it.
+ */
+public final class LoadTest {
+    private static final int DEFAULT_COMMAND_COUNT = 10_000;
+    private static final int DEFAULT_RATE = 1000;
+    private static final double BYTES_PER_MB = 1024.0 * 1024;
+
+    private LoadTest() {
+    }
+
+    /**
+     * Runs the load test described by the arguments and writes a report to standard error.
+     *
+     * @param args  The command-line arguments.
+     * @param start The position of the task file path in the arguments.
+     * @return The exit status: 0 if the test ran, 1 otherwise.
+     */
+    public static int run(String[] args, int start) {
+        Path directory = null;
+        try {
+            ToolArguments arguments = new ToolArguments(args, start, "compact");
+            int count = arguments.getInt("commands", DEFAULT_COMMAND_COUNT);
+            int rate = arguments.getInt("rate", DEFAULT_RATE);
+            if (count <= 0 || rate <= 0) {
+                throw new IllegalArgumentException("Number of commands and rate must be positive");
+            }
+            Path source = Path.of(arguments.getTarget());
+            if (!Files.exists(source)) {
+                throw new IllegalArgumentException("No task file at " + source);
+            }
+
+            directory = Files.createTempDirectory("cow-load-test");
+            Path copy = directory.resolve(source.getFileName());
+            Files.copy(source, copy, StandardCopyOption.REPLACE_EXISTING);
+            run(copy.toString(), count, rate, arguments.getLong("seed", TaskGenerator.DEFAULT_SEED),
+                    arguments.has("compact"));
+            return 0;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            return 1;
+        } catch (IOException e) {
+            System.err.println("Error running load test: " + e.getMessage());
+            return 1;
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    private static void run(String filePath, int count, int rate, long seed, boolean isCompact)
+            throws IOException {
+        long loadStart = System.nanoTime();
+        Cow cow = new Cow(filePath, Autosaver.DEFAULT_DELAY, isCompact);
+        long loadNanos = System.nanoTime() - loadStart;
+        long heapBefore = usedHeap();
+        String[] commands = new TaskGenerator(seed).commands(count, cow.getTaskCount());
+
+        long[] latencies = new long[count];
+        int failedCount = 0;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            long dueTime = startTime + i * intervalNanos;
+            long waitNanos = dueTime - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            Response response = cow.getResponse(commands[i]);
+            latencies[i] = System.nanoTime() - dueTime;
+            if (response.isFailure()) {
+                failedCount++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+        String stats = cow.getResponse("stats").getText();
+        cow.close();
+        long heapAfter = usedHeap();
+
+        Arrays.sort(latencies);
+        System.err.printf("Loaded tasks in %d ms%n", loadNanos / 1_000_000);
+        System.err.printf("Ran %d commands (%d failed) in %d ms, %.0f commands/s (target %d)%n",
+                count, failedCount, elapsedNanos / 1_000_000, count * 1e9 / Math.max(elapsedNanos, 1), rate);
+        System.err.printf("Latency: p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6, latencies[count - 1] / 1e6);
+        System.err.printf("Heap: %.1f MB before, %.1f MB after, %+.1f MB%n",
+                heapBefore / BYTES_PER_MB, heapAfter / BYTES_PER_MB, (heapAfter - heapBefore) / BYTES_PER_MB);
+        System.err.println(stats);
+    }
+
+    /**
+     * Returns the value below which the given fraction of the sorted values lie.
+     *
+     * @param sorted   The values, in ascending order.
+     * @param fraction The fraction, from 0 to 1.
+     * @return The value.
+     */
+    static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.min(Math.max(index, 0), sorted.length - 1)];
+    }
+
+    /**
+     * Returns the heap in use once garbage has been collected, as far as the JVM will collect it on request.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void deleteDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        } catch (IOException e) {
+            System.err.println("Error deleting " + directory + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import storage.Storage;
+
+/**
+ * Writes a task file of synthetic tasks, so that behaviour with many tasks can be tried out locally.
+ * Started as "--generate FILE [options]", where the options are:
+ * <ul>
+ *     <li>{@code --tasks N}: the number of tasks (default 100000)</li>
+ *     <li>{@code --mix T,D,E}: the relative shares of todos, deadlines and events (default 3,2,1)</li>
+ *     <li>{@code --words MEAN}: the average number of words in a description (default 3.5)</li>
+ *     <li>{@code --done RATIO}: the share of tasks that are done (default 0.25)</li>
+ *     <li>{@code --days N}: the number of days from the start of 2025 that dates are spread over (default 365)</li>
+ *     <li>{@code --seed N}: the seed, so that the same file can be generated again</li>
+ *     <li>{@code --text}: write the text format instead of a binary snapshot</li>
+ * </ul>
+ */
+public final class TaskFileGenerator {
+    private static final int DEFAULT_TASK_COUNT = 100_000;
+
+    private TaskFileGenerator() {
+    }
+
+    /**
+     * Generates the task file described by the arguments.
+     * Any file already at the path is replaced.
+     *
+     * @param args  The command-line arguments.
+     * @param start The position of the file path in the arguments.
+     * @return The exit status: 0 if the file was written, 1 otherwise.
+     */
+    public static int run(String[] args, int start) {
+        try {
+            ToolArguments arguments = new ToolArguments(args, start, "text");
+            int count = arguments.getInt("tasks", DEFAULT_TASK_COUNT);
+            if (count < 0) {
+                throw new IllegalArgumentException("Number of tasks cannot be negative");
+            }
+            TaskGenerator generator = new TaskGenerator(arguments.getLong("seed", TaskGenerator.DEFAULT_SEED),
+                    arguments.getDoubles("mix", TaskGenerator.DEFAULT_TYPE_SHARES),
+                    arguments.getDouble("words", TaskGenerator.DEFAULT_MEAN_WORDS),
+                    arguments.getDouble("done", TaskGenerator.DEFAULT_DONE_RATIO),
+                    arguments.getInt("days", TaskGenerator.DEFAULT_DATE_SPREAD_DAYS));
+
+            long startTime = System.nanoTime();
+            String path = arguments.getTarget();
+            Files.createDirectories(Path.of(path).toAbsolutePath().getParent());
+            if (arguments.has("text")) {
+                Files.write(Path.of(path), Arrays.asList(generator.storageLines(count)));
+            } else {
+                new Storage(path).saveTasksToFile(generator.taskList(count));
+            }
+            System.err.printf("Wrote %d tasks to %s in %d ms%n",
+                    count, path, (System.nanoTime() - startTime) / 1_000_000);
+            return 0;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            return 1;
+        } catch (IOException e) {
+            System.err.println("Error writing tasks: " + e.getMessage());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package tools;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import commands.ListCommand;
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.TaskList;
+import task.Todo;
+
+/**
+ * Generates synthetic tasks and commands, for benchmarks and load tests.
+ * The mix of task types, the length of descriptions, the share of done tasks and the spread of dates
+ * can all be chosen. The output depends only on these and the seed, so every run produces the same data.
+ */
+public final class TaskGenerator {
+    /** The seed used when none is given. */
+    public static final long DEFAULT_SEED = 20250218L;
+    /** The shares of todos, deadlines and events used when none are given. */
+    public static final double[] DEFAULT_TYPE_SHARES = {0.5, 1.0 / 3, 1.0 / 6};
+    /** The average number of words in a description used when none is given. */
+    public static final double DEFAULT_MEAN_WORDS = 3.5;
+    /** The share of tasks that are done used when none is given. */
+    public static final double DEFAULT_DONE_RATIO = 0.25;
+    /** The number of days dates are spread over when none is given. */
+    public static final int DEFAULT_DATE_SPREAD_DAYS = 365;
+
+    private static final String[] WORDS = {
+        "read", "book", "submit", "report", "project", "meeting", "buy", "milk", "call", "mom",
+        "review", "pull", "request", "lecture", "tutorial", "quiz", "exam", "revise", "notes", "gym",
+        "dinner", "lunch", "laundry", "plan", "trip", "pay", "bills", "fix", "bug", "write",
+        "essay", "email", "team", "update", "slides", "practice", "piano", "clean", "room", "groceries",
+    };
+    private static final LocalDateTime FIRST_DATE = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int MAX_EVENT_HOURS = 48;
+
+    private final Random random;
+    private final double todoShare;
+    private final double deadlineShare;
+    private final double meanWords;
+    private final double doneRatio;
+    private final int dateSpreadDays;
+
+    /**
+     * Constructs a TaskGenerator with the default mix of tasks, whose output is fixed by the given seed.
+     *
+     * @param seed The seed of the random numbers.
+     */
+    public TaskGenerator(long seed) {
+        this(seed, DEFAULT_TYPE_SHARES, DEFAULT_MEAN_WORDS, DEFAULT_DONE_RATIO, DEFAULT_DATE_SPREAD_DAYS);
+    }
+
+    /**
+     * Constructs a TaskGenerator with the given mix of tasks, whose output is fixed by the given seed.
+     * Description lengths follow a geometric distribution, so most are short and a few are long.
+     *
+     * @param seed           The seed of the random numbers.
+     * @param typeShares     The relative shares of todos, deadlines and events, in that order.
+     * @param meanWords      The average number of words in a description, at least 1.
+     * @param doneRatio      The share of tasks that are done, from 0 to 1.
+     * @param dateSpreadDays The number of days from the start of 2025 that dates are spread over.
+     * @throws IllegalArgumentException If any of the values is out of range.
+     */
+    public TaskGenerator(long seed, double[] typeShares, double meanWords, double doneRatio, int dateSpreadDays)
+            throws IllegalArgumentException {
+        if (typeShares.length != 3 || typeShares[0] < 0 || typeShares[1] < 0 || typeShares[2] < 0
+                || typeShares[0] + typeShares[1] + typeShares[2] <= 0) {
+            throw new IllegalArgumentException("Task type shares must be three numbers that are not all zero");
+        }
+        if (meanWords < 1) {
+            throw new IllegalArgumentException("Descriptions must have at least 1 word on average");
+        }
+        if (doneRatio < 0 || doneRatio > 1) {
+            throw new IllegalArgumentException("Done ratio must be between 0 and 1");
+        }
+        if (dateSpreadDays < 1) {
+            throw new IllegalArgumentException("Dates must be spread over at least 1 day");
+        }
+
+        double total = typeShares[0] + typeShares[1] + typeShares[2];
+        this.random = new Random(seed);
+        this.todoShare = typeShares[0] / total;
+        this.deadlineShare = typeShares[1] / total;
+        this.meanWords = meanWords;
+        this.doneRatio = doneRatio;
+        this.dateSpreadDays = dateSpreadDays;
+    }
+
+    /**
+     * Returns a word that appears in the generated descriptions, for use as a search keyword.
+     *
+     * @param index Which word to return.
+     * @return The word.
+     */
+    public static String word(int index) {
+        return WORDS[Math.floorMod(index, WORDS.length)];
+    }
+
+    /**
+     * Generates a list of tasks.
+     *
+     * @param count The number of tasks.
+     * @return A TaskList holding the tasks, with no unsaved changes.
+     */
+    public TaskList taskList(int count) {
+        return taskList(count, false);
+    }
+
+    /**
+     * Generates a list of tasks, which may be a compact one.
+     *
+     * @param count     The number of tasks.
+     * @param isCompact Whether to generate a list made by {@link TaskList#createCompact()}.
+     * @return A TaskList holding the tasks, with no unsaved changes.
+     */
+    public TaskList taskList(int count, boolean isCompact) {
+        TaskList tasks = isCompact ? TaskList.createCompact() : new TaskList();
+        for (int i = 0; i < count; i++) {
+            tasks.addTask(task());
+        }
+        tasks.markSaved();
+        return tasks;
+    }
+
+    /**
+     * Generates a single task.
+     *
+     * @return The task.
+     */
+    public Task task() {
+        String description = description();
+        boolean isDone = random.nextDouble() < doneRatio;
+        double kind = random.nextDouble();
+        if (kind < todoShare) {
+            return new Todo(description, isDone);
+        } else if (kind < todoShare + deadlineShare) {
+            return new Deadline(description, isDone, dateTime());
+        } else {
+            LocalDateTime from = dateTime();
+            return new Event(description, isDone, from, eventEnd(from));
+        }
+    }
+
+    /**
+     * Generates task lines in the text storage format.
+     *
+     * @param count The number of lines.
+     * @return The lines.
+     */
+    public String[] storageLines(int count) {
+        String[] lines = new String[count];
+        for (int i = 0; i < count; i++) {
+            lines[i] = task().getFormat();
+        }
+        return lines;
+    }
+
+    /**
+     * Generates commands as a user would type them, mixing every kind of command.
+     *
+     * @param count    The number of commands.
+     * @param maxIndex The highest task number the commands may refer to.
+     * @return The commands.
+     */
+    public String[] commands(int count, int maxIndex) {
+        String[] commands = new String[count];
+        for (int i = 0; i < count; i++) {
+            commands[i] = command(maxIndex);
+        }
+        return commands;
+    }
+
+    /**
+     * Generates date-times in the formats users type them in.
+     *
+     * @param count The number of date-times.
+     * @return The date-times.
+     */
+    public String[] dateTimeInputs(int count) {
+        String[] inputs = new String[count];
+        for (int i = 0; i < count; i++) {
+            inputs[i] = dateTimeInput(dateTime(), true);
+        }
+        return inputs;
+    }
+
+    private String command(int maxIndex) {
+        int number = 1 + random.nextInt(Math.max(maxIndex, 1));
+        switch (random.nextInt(8)) {
+        case 0:
+            return "todo " + description();
+        case 1:
+            return "deadline " + description() + " /by " + dateTimeInput(dateTime(), true);
+        case 2:
+            LocalDateTime from = dateTime();
+            return "event " + description() + " /from " + dateTimeInput(from, true)
+                    + " /to " + dateTimeInput(eventEnd(from), false);
+        case 3:
+            return "mark " + number;
+        case 4:
+            return "unmark " + number + "," + (number + 1) + "-" + (number + 3);
+        case 5:
+            return "delete " + number;
+        case 6:
+            return "find " + word(random.nextInt(WORDS.length));
+        default:
+            int pageCount = Math.max(maxIndex / ListCommand.DEFAULT_PAGE_SIZE, 1);
+            return "list " + (1 + random.nextInt(pageCount));
+        }
+    }
+
+    private String description() {
+        // Geometric length: each further word is added with the same chance, giving the requested mean
+        double chanceOfMore = 1 - 1 / meanWords;
+        StringBuilder description = new StringBuilder(word(random.nextInt(WORDS.length)));
+        while (random.nextDouble() < chanceOfMore) {
+            description.append(' ').append(word(random.nextInt(WORDS.length)));
+        }
+        return description.toString();
+    }
+
+    private LocalDateTime dateTime() {
+        return FIRST_DATE.plusDays(random.nextInt(dateSpreadDays))
+                .withHour(random.nextInt(24))
+                .withMinute(random.nextInt(60));
+    }
+
+    private LocalDateTime eventEnd(LocalDateTime from) {
+        return from.plusHours(1 + random.nextInt(MAX_EVENT_HOURS));
+    }
+
+    /**
+     * Formats the date-time as a user might type it. Dropping the time moves it back to midnight,
+     * so it is kept for the end of an event, which must not come before the start.
+     */
+    private String dateTimeInput(LocalDateTime dateTime, boolean canDropTime) {
+        String date = dateTime.getDayOfMonth() + "/" + dateTime.getMonthValue() + "/" + dateTime.getYear();
+        switch (canDropTime ? random.nextInt(3) : 1 + random.nextInt(2)) {
+        case 0:
+            return date;
+        case 1:
+            return date + " " + String.format("%02d:%02d", dateTime.getHour(), dateTime.getMinute());
+        default:
+            return date.replace('/', '-') + " " + String.format("%02d%02d", dateTime.getHour(), dateTime.getMinute());
+        }
+    }
+}
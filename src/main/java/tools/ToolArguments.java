@@ -0,0 +1,107 @@
+package tools;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the command-line arguments of a tool: one positional argument followed by "--name value" options.
+ * Options that take no value are given as "--name" alone.
+ */
+final class ToolArguments {
+    private final String target;
+    private final Map<String, String> options = new HashMap<>();
+
+    /**
+     * Parses the arguments, starting at the given one.
+     *
+     * @param args  The command-line arguments.
+     * @param start The position of the positional argument.
+     * @param flags The names of the options that take no value.
+     * @throws IllegalArgumentException If the positional argument is missing or an option has no value.
+     */
+    ToolArguments(String[] args, int start, String... flags) throws IllegalArgumentException {
+        if (start >= args.length || args[start].startsWith("--")) {
+            throw new IllegalArgumentException("Missing file path");
+        }
+        this.target = args[start];
+
+        for (int i = start + 1; i < args.length; i++) {
+            String name = args[i];
+            if (!name.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + name);
+            }
+            if (isFlag(name.substring(2), flags)) {
+                options.put(name.substring(2), "");
+            } else if (i + 1 < args.length) {
+                options.put(name.substring(2), args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for " + name);
+            }
+        }
+    }
+
+    String getTarget() {
+        return target;
+    }
+
+    boolean has(String name) {
+        return options.containsKey(name);
+    }
+
+    String getString(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    int getInt(String name, int defaultValue) throws IllegalArgumentException {
+        String value = options.get(name);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a whole number for --" + name + ": " + value);
+        }
+    }
+
+    long getLong(String name, long defaultValue) throws IllegalArgumentException {
+        String value = options.get(name);
+        try {
+            return value == null ? defaultValue : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a whole number for --" + name + ": " + value);
+        }
+    }
+
+    double getDouble(String name, double defaultValue) throws IllegalArgumentException {
+        String value = options.get(name);
+        try {
+            return value == null ? defaultValue : Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number for --" + name + ": " + value);
+        }
+    }
+
+    double[] getDoubles(String name, double[] defaultValue) throws IllegalArgumentException {
+        String value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        String[] parts = value.split(",");
+        double[] numbers = new double[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                numbers[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected numbers separated by commas for --" + name + ": " + value);
+        }
+        return numbers;
+    }
+
+    private static boolean isFlag(String name, String[] flags) {
+        for (String flag : flags) {
+            if (flag.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+package commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CommandHistoryTest {
+    private static final Object SESSION = new Object();
+
+    @Test
+    void testUndoRedo_inOrder() {
+        CommandHistory history = new CommandHistory();
+        history.record(SESSION, "add", List.of());
+        history.record(SESSION, "delete", List.of());
+
+        assertEquals("delete", history.undo().getCommandType());
+        assertEquals("add", history.undo().getCommandType());
+        assertNull(history.undo());
+        assertEquals("add", history.redo().getCommandType());
+        assertEquals("delete", history.redo().getCommandType());
+        assertNull(history.redo());
+    }
+
+    @Test
+    void testRecord_dropsRedo() {
+        CommandHistory history = new CommandHistory();
+        history.record(SESSION, "add", List.of());
+        history.record(SESSION, "delete", List.of());
+        history.undo();
+        history.record(SESSION, "mark", List.of());
+
+        assertNull(history.redo());
+        assertEquals("mark", history.undo().getCommandType());
+        assertEquals("add", history.undo().getCommandType());
+    }
+
+    @Test
+    void testRecord_forgetsOldestWhenFull() {
+        CommandHistory history = new CommandHistory(3);
+        for (int i = 0; i < 5; i++) {
+            history.record(SESSION, "command " + i, List.of());
+        }
+
+        assertEquals("command 4", history.undo().getCommandType());
+        assertEquals("command 3", history.undo().getCommandType());
+        assertEquals("command 2", history.undo().getCommandType());
+        assertNull(history.undo());
+        assertEquals("command 2", history.redo().getCommandType());
+    }
+}
@@ -0,0 +1,90 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import storage.Storage;
+import task.TaskList;
+
+class BatchRunnerTest {
+    private static final String TEST_FILE_PATH = "test_batch_tasks.txt";
+    private static final String SCRIPT_PATH = "test_batch_script.txt";
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".journal"));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".journal.old"));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".bak"));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".metrics.json"));
+        Files.deleteIfExists(Path.of(SCRIPT_PATH));
+    }
+
+    @Test
+    void testRun_savesOnceAtEnd() throws IOException {
+        BatchRunner runner = new BatchRunner(new Cow(TEST_FILE_PATH));
+        String script = "# import\n"
+            + "todo read book\n"
+            + "\n"
+            + "deadline submit report /by 1/12/2023 18:00\n"
+            + "mark 1\n";
+        runner.run(new BufferedReader(new StringReader(script)), new PrintWriter(new StringWriter()));
+
+        assertEquals(3, runner.getCommandCount());
+        assertEquals(0, runner.getFailedCount());
+        assertFalse(Files.exists(Path.of(TEST_FILE_PATH + ".journal")));
+        assertEquals("Here are the tasks in your list:\n1.[T][X] read book\n"
+            + "2.[D][ ] submit report (Deadline is: 2023-12-01 18:00)", loadSaved().listAllTasks());
+    }
+
+    @Test
+    void testRun_countsFailedCommands() throws IOException {
+        BatchRunner runner = new BatchRunner(new Cow(TEST_FILE_PATH));
+        StringWriter output = new StringWriter();
+        String script = "todo\nfly away\ntodo read book\n";
+        runner.run(new BufferedReader(new StringReader(script)), new PrintWriter(output, true));
+
+        assertEquals(3, runner.getCommandCount());
+        assertEquals(2, runner.getFailedCount());
+        assertEquals(1, loadSaved().size());
+    }
+
+    @Test
+    void testRunScript_failsOnOutOfRangeDelete() throws IOException {
+        Files.writeString(Path.of(SCRIPT_PATH), "todo read book\ndelete 5\n");
+        assertEquals(1, BatchRunner.runScript(SCRIPT_PATH, TEST_FILE_PATH));
+        assertEquals(1, loadSaved().size());
+        assertTrue(Files.exists(Path.of(TEST_FILE_PATH + ".metrics.json")));
+
+        Files.writeString(Path.of(SCRIPT_PATH), "delete 1\n");
+        assertEquals(0, BatchRunner.runScript(SCRIPT_PATH, TEST_FILE_PATH));
+        assertEquals(0, loadSaved().size());
+    }
+
+    @Test
+    void testRun_stopsAtExit() throws IOException {
+        BatchRunner runner = new BatchRunner(new Cow(TEST_FILE_PATH));
+        String script = "todo read book\nbye\ntodo never added\n";
+        runner.run(new BufferedReader(new StringReader(script)), new PrintWriter(new StringWriter()));
+
+        assertEquals(2, runner.getCommandCount());
+        assertFalse(Files.exists(Path.of(TEST_FILE_PATH + ".journal")));
+        assertEquals("Here are the tasks in your list:\n1.[T][ ] read book", loadSaved().listAllTasks());
+    }
+
+    private TaskList loadSaved() {
+        return new Storage(TEST_FILE_PATH).loadTasksFromFile();
+    }
+}
@@ -0,0 +1,155 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import commands.TaskSelection;
+import storage.Storage;
+
+class CowTest {
+    private static final String TEST_FILE_PATH = "test_cow_tasks.txt";
+    private Cow cow;
+
+    @BeforeEach
+    void setUp() {
+        cow = new Cow(TEST_FILE_PATH);
+        cow.getResponse("todo read book");
+        cow.getResponse("todo buy milk");
+        cow.getResponse("todo walk dog");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        cow.close();
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".journal"));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".journal.old"));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".bak"));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".metrics.json"));
+    }
+
+    @Test
+    void testGetResponse_keepsOwnDeletionsInCurrentNumbering() {
+        cow.getResponse("delete 1");
+        Response response = cow.getResponse("mark 1");
+        assertTrue(response.getText().contains("[T][X] buy milk"));
+    }
+
+    @Test
+    void testGetResponse_adjustsForOtherSessionsDeletions() {
+        Session other = cow.openSession();
+        cow.getResponse(other, "delete 1");
+
+        Response response = cow.getResponse("mark 3");
+        assertTrue(response.getText().contains("[T][X] walk dog"));
+        assertEquals("Here are the tasks in your list:\n1.[T][ ] buy milk\n2.[T][X] walk dog",
+                cow.getResponse("list").getText());
+    }
+
+    @Test
+    void testGetResponse_rejectsTaskDeletedByOtherSession() {
+        Session other = cow.openSession();
+        cow.getResponse(other, "delete 2");
+
+        Response response = cow.getResponse("unmark 1-2");
+        assertEquals(TaskSelection.DELETED_TASK_ERROR, response.getText());
+    }
+
+    @Test
+    void testStats_countsCommandsByType() throws IOException {
+        cow.getResponse("list");
+        String stats = cow.getResponse("stats").getText();
+        assertTrue(stats.contains("\nadd                 3"), stats);
+        assertTrue(stats.contains("\nlist                1"), stats);
+
+        cow.close();
+        String json = Files.readString(Path.of(TEST_FILE_PATH + ".metrics.json"));
+        assertTrue(json.contains("\"add\": {\"count\": 3"), json);
+    }
+
+    @Test
+    void testExit_savesChangesBeforeExiting() {
+        cow.getResponse("mark 2");
+        Response response = cow.getResponse("bye");
+
+        assertTrue(response.isExit());
+        assertEquals("Here are the tasks in your list:\n1.[T][ ] read book\n2.[T][X] buy milk\n3.[T][ ] walk dog",
+                new Storage(TEST_FILE_PATH).loadTasksFromFile().listAllTasks());
+    }
+
+    @Test
+    void testUndoRedo_delete() throws IOException {
+        cow.getResponse("mark 2");
+        cow.getResponse("delete 1-2");
+        Response response = cow.getResponse("undo");
+        assertEquals("OK, I've undone your last delete command.\nNow you have 3 tasks in the list.",
+                response.getText());
+        assertEquals("Here are the tasks in your list:\n1.[T][ ] read book\n2.[T][X] buy milk\n3.[T][ ] walk dog",
+                cow.getResponse("list").getText());
+        assertTrue(cow.getResponse("mark #2").getText().contains("buy milk"));
+
+        cow.getResponse("undo");
+        cow.getResponse("redo");
+        cow.getResponse("redo");
+        assertTrue(cow.getResponse("redo").isFailure());
+        cow.close();
+        assertEquals("Here are the tasks in your list:\n1.[T][ ] walk dog",
+                new Cow(TEST_FILE_PATH).getResponse("list").getText());
+    }
+
+    @Test
+    void testUndo_lastTaskKeepsIdAfterRestart() throws IOException {
+        cow.getResponse("delete #3");
+        cow.getResponse("undo");
+        cow.close();
+
+        cow = new Cow(TEST_FILE_PATH);
+        assertTrue(cow.getResponse("delete #3").getText().contains("walk dog"));
+    }
+
+    @Test
+    void testRedo_addKeepsIdAfterRestart() throws IOException {
+        cow.getResponse("undo");
+        cow.getResponse("redo");
+        cow.close();
+
+        cow = new Cow(TEST_FILE_PATH);
+        assertTrue(cow.getResponse("mark #3").getText().contains("walk dog"));
+    }
+
+    @Test
+    void testUndo_otherSessionKeepsNumbering() {
+        cow.getResponse("delete 2");
+        Session other = cow.openSession();
+        cow.getResponse("undo");
+
+        cow.getResponse(other, "mark 1-2");
+        assertEquals("Here are the tasks in your list:\n1.[T][X] read book\n2.[T][ ] buy milk\n3.[T][X] walk dog",
+                cow.getResponse("list").getText());
+        assertTrue(cow.getResponse(other, "undo").getText().contains("mark"));
+    }
+
+    @Test
+    void testUndoRedo_refusesOtherSessionsCommand() {
+        Session other = cow.openSession();
+        cow.getResponse(other, "mark 1");
+
+        Response response = cow.getResponse("undo");
+        assertTrue(response.isFailure());
+        assertEquals("Error: The latest change was made in another session, so it cannot be undone here.",
+                response.getText());
+        assertTrue(cow.getResponse("list").getText().contains("1.[T][X] read book"));
+
+        cow.getResponse(other, "undo");
+        assertTrue(cow.getResponse("redo").isFailure());
+        assertTrue(cow.getResponse(other, "redo").getText().contains("mark"));
+    }
+}
@@ -1,17 +1,28 @@
 package parser;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 
 import org.junit.jupiter.api.Test;
 
 import commands.AddCommand;
 import commands.Command;
+import commands.DateQueryCommand;
 import commands.DeleteCommand;
 import commands.ExitCommand;
+import commands.ExportCommand;
 import commands.FindCommand;
+import commands.ImportCommand;
 import commands.IncorrectCommand;
 import commands.ListCommand;
 import commands.MarkCommand;
+import commands.RedoCommand;
+import commands.StatsCommand;
+import commands.UndoCommand;
 import commands.UnknownCommand;
 import commands.UnmarkCommand;
 
@@ -36,6 +47,24 @@ class ParserTest {
         assertInstanceOf(ListCommand.class, command);
     }
 
+    @Test
+    void testParseCommand_list_paged() {
+        Parser parser = new Parser();
+        assertInstanceOf(ListCommand.class, parser.parseCommand("list 2"));
+        assertInstanceOf(ListCommand.class, parser.parseCommand("list --limit 50"));
+        assertInstanceOf(ListCommand.class, parser.parseCommand("list 3 --limit 10"));
+        assertInstanceOf(ListCommand.class, parser.parseCommand("list --limit \t 10   3"));
+    }
+
+    @Test
+    void testParseCommand_list_invalidPage() {
+        Parser parser = new Parser();
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("list 0"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("list --limit"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("list two"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("list 2 3"));
+    }
+
     @Test
     void testParseCommand_find() {
         Parser parser = new Parser();
@@ -44,6 +73,20 @@ class ParserTest {
         // assertEquals("keyword", command.execute(null, null).toString());
     }
 
+    @Test
+    void testParseCommand_stats() {
+        Parser parser = new Parser();
+        assertInstanceOf(StatsCommand.class, parser.parseCommand("stats"));
+        assertEquals("No commands have been run yet.", parser.parseCommand("STATS").execute(null, null).toString());
+    }
+
+    @Test
+    void testParseCommand_undoRedo() {
+        Parser parser = new Parser();
+        assertInstanceOf(UndoCommand.class, parser.parseCommand("undo"));
+        assertInstanceOf(RedoCommand.class, parser.parseCommand("redo"));
+    }
+
     @Test
     void testParseCommand_delete_validIndex() {
         Parser parser = new Parser();
@@ -61,6 +104,32 @@ class ParserTest {
         // ((IncorrectCommand) command).getErrorMessage());
     }
 
+    @Test
+    void testParseCommand_delete_indexList() {
+        Parser parser = new Parser();
+        Command command = parser.parseCommand("delete 3, 7,10-200");
+        assertInstanceOf(DeleteCommand.class, command);
+    }
+
+    @Test
+    void testParseCommand_delete_invalidRange() {
+        Parser parser = new Parser();
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("delete 5-2"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("delete 1,,2"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("delete 0"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("delete 2-"));
+    }
+
+    @Test
+    void testParseCommand_taskIds() {
+        Parser parser = new Parser();
+        assertInstanceOf(MarkCommand.class, parser.parseCommand("mark #12"));
+        assertInstanceOf(DeleteCommand.class, parser.parseCommand("delete 1, #3,4-5"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("unmark #"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("unmark #0"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("delete #1-#3"));
+    }
+
     @Test
     void testParseCommand_mark_validIndex() {
         Parser parser = new Parser();
@@ -167,6 +236,25 @@ class ParserTest {
         // ((IncorrectCommand) command).getErrorMessage());
     }
 
+    @Test
+    void testParseCommand_dateQueries() {
+        Parser parser = new Parser();
+        assertInstanceOf(DateQueryCommand.class, parser.parseCommand("due before 1/12/2023"));
+        assertInstanceOf(DateQueryCommand.class, parser.parseCommand("between 1/12/2023 09:00 2/12/2023"));
+        assertInstanceOf(DateQueryCommand.class, parser.parseCommand("overlapping 1/12/2023 1/12/2023 18:00"));
+        assertInstanceOf(DateQueryCommand.class, parser.parseCommand("due   Before  1/12/2023 1800"));
+        assertInstanceOf(DateQueryCommand.class, parser.parseCommand("between 1/12/2023  \t2-12-2023  09:00"));
+    }
+
+    @Test
+    void testParseCommand_dateQueries_invalid() {
+        Parser parser = new Parser();
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("due 1/12/2023"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("between 1/12/2023"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("between 2/12/2023 1/12/2023"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("overlapping 1/12/2023 09:00 10:00 2/12/2023"));
+    }
+
     @Test
     void testParseCommand_unknownCommand() {
         Parser parser = new Parser();
@@ -174,4 +262,54 @@ class ParserTest {
         assertInstanceOf(UnknownCommand.class, command);
         // assertEquals("Sorry, I don't know what that means.", ((UnknownCommand) command).getMessage());
     }
+
+    @Test
+    void testParseCommand_ignoresCase() {
+        Parser parser = new Parser();
+        assertInstanceOf(AddCommand.class, parser.parseCommand("TODO read book"));
+        assertInstanceOf(AddCommand.class, parser.parseCommand("Deadline submit report /by 1/12/2023"));
+        assertInstanceOf(MarkCommand.class, parser.parseCommand("MARK 1"));
+    }
+
+    @Test
+    void testParseCommand_event_toBeforeFrom() {
+        Parser parser = new Parser();
+        Command command = parser.parseCommand("event conference /to 2/12/2023 /from 1/12/2023");
+        assertInstanceOf(IncorrectCommand.class, command);
+    }
+
+    @Test
+    void testParseDateTime_commonForms() {
+        assertEquals(LocalDateTime.of(2023, 12, 1, 0, 0), Parser.parseDateTime("1/12/2023"));
+        assertEquals(LocalDateTime.of(2023, 12, 1, 18, 0), Parser.parseDateTime("01-12-2023 18:00"));
+        assertEquals(LocalDateTime.of(2023, 12, 1, 18, 5), Parser.parseDateTime("1/12/2023 1805"));
+        assertEquals(LocalDateTime.of(2023, 12, 1, 0, 0), Parser.parseDateTime("1//12/2023"));
+    }
+
+    @Test
+    void testParseDateTime_otherForms() {
+        // Days past the end of the month move back to its last day
+        assertEquals(LocalDateTime.of(2023, 4, 30, 0, 0), Parser.parseDateTime("31/4/2023"));
+        // Anything after the time is ignored
+        assertEquals(LocalDateTime.of(2023, 12, 1, 18, 0), Parser.parseDateTime("1/12/2023 18:00 later"));
+    }
+
+    @Test
+    void testParseDateTime_invalid() {
+        assertEquals("Invalid format. Expected: d/M/yyyy or dd/MM/yyyy [HH:mm]",
+            assertThrows(DateTimeParseException.class, () -> Parser.parseDateTime("1/12")).getMessage());
+        assertEquals("Invalid date format.",
+            assertThrows(DateTimeParseException.class, () -> Parser.parseDateTime("1/13/2023")).getMessage());
+        assertEquals("Invalid time format. Expected: HH:mm or HHmm",
+            assertThrows(DateTimeParseException.class, () -> Parser.parseDateTime("1/12/2023 25:00")).getMessage());
+    }
+
+    @Test
+    void testParseCommand_exportImport() {
+        Parser parser = new Parser();
+        assertInstanceOf(ExportCommand.class, parser.parseCommand("export tasks.txt"));
+        assertInstanceOf(ImportCommand.class, parser.parseCommand("import tasks.txt"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("export"));
+        assertInstanceOf(IncorrectCommand.class, parser.parseCommand("import  "));
+    }
 }
@@ -0,0 +1,88 @@
+package storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.locks.StampedLock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import task.TaskList;
+
+class AutosaverTest {
+    private static final String TEST_FILE_PATH = "test_autosave_tasks.txt";
+    private Storage storage;
+    private TaskList taskList;
+
+    @BeforeEach
+    void setUp() {
+        storage = new Storage(TEST_FILE_PATH);
+        taskList = storage.loadTasksFromFile();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".journal"));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".bak"));
+    }
+
+    @Test
+    void testRequestSave_waitsForDelay() throws IOException {
+        Autosaver autosaver = new Autosaver(storage, taskList, new StampedLock(), Duration.ofHours(1));
+        taskList.addTodo("Buy milk", false);
+        autosaver.requestSave();
+
+        assertFalse(Files.exists(Path.of(TEST_FILE_PATH + ".journal")));
+        assertEquals(1, taskList.getUnsavedChanges().size());
+        autosaver.close();
+    }
+
+    @Test
+    void testFlush_savesChangesTogether() throws IOException {
+        Autosaver autosaver = new Autosaver(storage, taskList, new StampedLock(), Duration.ofHours(1));
+        taskList.addTodo("Buy milk", false);
+        autosaver.requestSave();
+        taskList.addTodo("Read book", false);
+        taskList.markTask(1);
+        autosaver.requestSave();
+        autosaver.flush();
+
+        assertTrue(taskList.getUnsavedChanges().isEmpty());
+        assertEquals("Here are the tasks in your list:\n1.[T][ ] Buy milk\n2.[T][X] Read book",
+                new Storage(TEST_FILE_PATH).loadTasksFromFile().listAllTasks());
+        autosaver.close();
+    }
+
+    @Test
+    void testFlush_compactsPastThreshold() throws IOException {
+        Autosaver autosaver = new Autosaver(storage, taskList, new StampedLock(), Duration.ofHours(1));
+        for (int i = 0; i < Storage.COMPACTION_THRESHOLD + 5; i++) {
+            taskList.addTodo("Task " + i, false);
+            autosaver.flush();
+        }
+        autosaver.close();
+
+        assertFalse(Files.exists(Path.of(TEST_FILE_PATH + ".journal.old")));
+        assertEquals(taskList.listAllTasks(), new Storage(TEST_FILE_PATH).loadTasksFromFile().listAllTasks());
+    }
+
+    @Test
+    void testFlush_afterFullSaveWritesNothing() throws IOException {
+        Autosaver autosaver = new Autosaver(storage, taskList, new StampedLock(), Duration.ofHours(1));
+        taskList.addTodo("Buy milk", false);
+        autosaver.requestSave();
+        storage.saveTasksToFile(taskList);
+        autosaver.close();
+
+        assertFalse(Files.exists(Path.of(TEST_FILE_PATH + ".journal")));
+        assertEquals(1, new Storage(TEST_FILE_PATH).loadTasksFromFile().size());
+    }
+}
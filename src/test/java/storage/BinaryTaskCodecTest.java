@@ -0,0 +1,102 @@
+package storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.Todo;
+
+class BinaryTaskCodecTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 3, 10, 9, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 3, 10, 23, 59);
+
+    @Test
+    void testEncodeAndRead_roundTrip() {
+        List<Task> tasks = List.of(
+            new Todo("read | write", true),
+            new Deadline("caf\u00e9 report", false, TO),
+            new Event("conference\nday 1", true, FROM, TO));
+        byte[] snapshot = BinaryTaskCodec.encode(tasks, tasks.size(), 1);
+
+        List<Task> loaded = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        BinaryTaskCodec.read(ByteBuffer.wrap(snapshot), loaded, errors);
+
+        assertTrue(errors.isEmpty());
+        assertEquals(tasks.size(), loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), loaded.get(i).toString());
+            assertEquals(tasks.get(i).isDone(), loaded.get(i).isDone());
+        }
+    }
+
+    @Test
+    void testEncode_longDescription() {
+        String description = "x".repeat(100_000);
+        byte[] snapshot = BinaryTaskCodec.encode(List.of(new Todo(description, false)), 1, 1);
+
+        List<Task> loaded = new ArrayList<>();
+        BinaryTaskCodec.read(ByteBuffer.wrap(snapshot), loaded, new ArrayList<>());
+        assertEquals(description, loaded.get(0).getDescription());
+    }
+
+    @Test
+    void testIsSnapshot() {
+        byte[] snapshot = BinaryTaskCodec.encode(List.of(), 0, 1);
+        assertTrue(BinaryTaskCodec.isSnapshot(ByteBuffer.wrap(snapshot)));
+        assertFalse(BinaryTaskCodec.isSnapshot(ByteBuffer.wrap("T | 0 | read".getBytes(StandardCharsets.UTF_8))));
+        assertFalse(BinaryTaskCodec.isSnapshot(ByteBuffer.allocate(0)));
+    }
+
+    @Test
+    void testRead_truncatedSnapshot() {
+        List<Task> tasks = List.of(new Todo("first", false), new Todo("second", false));
+        byte[] snapshot = BinaryTaskCodec.encode(tasks, tasks.size(), 1);
+
+        List<Task> loaded = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        BinaryTaskCodec.read(ByteBuffer.wrap(Arrays.copyOf(snapshot, snapshot.length - 3)), loaded, errors);
+
+        assertEquals(1, loaded.size());
+        assertEquals(List.of("Snapshot is cut short after 1 tasks"), errors);
+    }
+
+    @Test
+    void testRead_snapshotTruncatedBetweenRecords() {
+        byte[] first = BinaryTaskCodec.encode(List.of(new Todo("first", false)), 1, 3);
+        List<Task> tasks = List.of(new Todo("first", false), new Todo("second", false));
+        byte[] snapshot = BinaryTaskCodec.encode(tasks, tasks.size(), 3);
+
+        List<Task> loaded = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        BinaryTaskCodec.read(ByteBuffer.wrap(Arrays.copyOf(snapshot, first.length)), loaded, errors);
+
+        assertEquals(1, loaded.size());
+        assertEquals(List.of("Snapshot holds 1 tasks, but its header says 2"), errors);
+    }
+
+    @Test
+    void testRead_newerVersion() {
+        byte[] snapshot = BinaryTaskCodec.encode(List.of(new Todo("read", false)), 1, 1);
+        ByteBuffer.wrap(snapshot).putShort(4, (short) (BinaryTaskCodec.VERSION + 1));
+
+        List<Task> loaded = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        BinaryTaskCodec.read(ByteBuffer.wrap(snapshot), loaded, errors);
+
+        assertTrue(loaded.isEmpty());
+        assertEquals(1, errors.size());
+    }
+}
@@ -0,0 +1,88 @@
+package storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import task.Task;
+
+class MappedTaskLoaderTest {
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+
+    private void parse(String content) {
+        ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+        MappedTaskLoader.parseLines(buffer, 0, buffer.limit(), tasks, errors);
+    }
+
+    @Test
+    void testParseLines_allTaskTypes() {
+        parse("T | 0 | Read book\n"
+                + "D | 1 | Submit report | 10/03/2025 23:59\r\n"
+                + "E | 0 | Team meeting | 15/02/2025 10:00 | 15/02/2025 12:00\n");
+
+        assertEquals(3, tasks.size());
+        assertEquals(0, errors.size());
+        assertEquals("T | 0 | Read book", tasks.get(0).getFormat());
+        assertEquals("D | 1 | Submit report | 10/03/2025 23:59", tasks.get(1).getFormat());
+        assertEquals("E | 0 | Team meeting | 15/02/2025 10:00 | 15/02/2025 12:00", tasks.get(2).getFormat());
+    }
+
+    @Test
+    void testParseLines_nonStorageDateFormat() {
+        parse("D | 0 | Submit report | 1-3-2025 0930");
+
+        assertEquals(1, tasks.size());
+        assertEquals("D | 0 | Submit report | 01/03/2025 09:30", tasks.get(0).getFormat());
+    }
+
+    @Test
+    void testParseLines_unicodeDescription() {
+        parse("T | 1 | Caf\u00e9 \u00fcber \u4e2d\u6587");
+
+        assertEquals("[T][X] Caf\u00e9 \u00fcber \u4e2d\u6587", tasks.get(0).toString());
+    }
+
+    @Test
+    void testParseLines_skipsInvalidLines() {
+        parse("T | 0 | Read book\n"
+                + "D | 0 | Missing deadline\n"
+                + "X | 0 | Unknown\n"
+                + "D | 0 | Bad date | 99/99/2025 10:00\n"
+                + "T | 1 | Write essay");
+
+        assertEquals(2, tasks.size());
+        assertEquals("[T][X] Write essay", tasks.get(1).toString());
+        assertEquals(List.of("Error parsing task from line, skipping: D | 0 | Missing deadline",
+                "Unknown task type: X",
+                "Error parsing task from line, skipping: D | 0 | Bad date | 99/99/2025 10:00"), errors);
+    }
+
+    @Test
+    void testParseAll_largeFileMatchesSequentialOrder() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 60_000; i++) {
+            if (i % 1000 == 0) {
+                content.append("X | 0 | Broken ").append(i).append("\n");
+            }
+            content.append("D | ").append(i % 2).append(" | Task ").append(i).append(" | 10/03/2025 23:59\n");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+
+        List<Task> sequentialTasks = new ArrayList<>();
+        List<String> sequentialErrors = new ArrayList<>();
+        MappedTaskLoader.parseLines(buffer, 0, buffer.limit(), sequentialTasks, sequentialErrors);
+        MappedTaskLoader.parseAll(buffer, tasks, errors);
+
+        assertEquals(60_000, tasks.size());
+        assertEquals(sequentialErrors, errors);
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(sequentialTasks.get(i).getFormat(), tasks.get(i).getFormat());
+        }
+    }
+}
@@ -1,12 +1,26 @@
 package storage;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
+import task.Task;
+import task.TaskChange;
 import task.TaskList;
 
 class StorageTest {
@@ -22,4 +36,281 @@ class StorageTest {
         storage = new Storage(TEST_FILE_PATH);
         taskList = new TaskList();
     }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".journal"));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".journal.old"));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".journal.corrupt"));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".bak"));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".tmp"));
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        taskList.addTodo("Buy milk", false);
+        taskList.addTodo("Read book", true);
+        storage.saveTasksToFile(taskList);
+
+        TaskList loaded = new Storage(TEST_FILE_PATH).loadTasksFromFile();
+        assertEquals(taskList.listAllTasks(), loaded.listAllTasks());
+    }
+
+    @Test
+    void testSave_keepsPreviousSaveAsBackup() throws IOException {
+        taskList.addTodo("Buy milk", false);
+        storage.saveTasksToFile(taskList);
+        byte[] firstSave = Files.readAllBytes(Path.of(TEST_FILE_PATH));
+
+        taskList.addTodo("Read book", false);
+        storage.saveTasksToFile(taskList);
+
+        assertArrayEquals(firstSave, Files.readAllBytes(Path.of(TEST_FILE_PATH + ".bak")));
+        assertEquals(2, new Storage(TEST_FILE_PATH).loadTasksFromFile().size());
+        assertFalse(Files.exists(Path.of(TEST_FILE_PATH + ".tmp")));
+    }
+
+    @Test
+    void testSave_failureLeavesTaskFileIntact() throws IOException {
+        taskList.addTodo("Buy milk", false);
+        storage.saveTasksToFile(taskList);
+        byte[] firstSave = Files.readAllBytes(Path.of(TEST_FILE_PATH));
+
+        // A directory in the way of the temporary file makes the save fail before the task file is touched
+        Files.createDirectory(Path.of(TEST_FILE_PATH + ".tmp"));
+        taskList.addTodo("Read book", false);
+        assertThrows(IOException.class, () -> storage.saveTasksToFile(taskList));
+
+        assertArrayEquals(firstSave, Files.readAllBytes(Path.of(TEST_FILE_PATH)));
+        assertFalse(taskList.getUnsavedChanges().isEmpty());
+    }
+
+    @Test
+    void testSaveAndLoad_keepsTaskIds() throws IOException {
+        taskList.addTodo("Buy milk", false);
+        taskList.addTodo("Read book", false);
+        taskList.addTodo("Walk dog", false);
+        taskList.deleteTask(2);
+        storage.saveTasksToFile(taskList);
+        taskList.deleteTask(0);
+        taskList.addTodo("Cook", false);
+        storage.saveChanges(taskList);
+
+        TaskList loaded = new Storage(TEST_FILE_PATH).loadTasksFromFile();
+        assertEquals(2, loaded.getTask(0).getId());
+        assertEquals(4, loaded.getTask(1).getId());
+        assertEquals(5, loaded.getNextId());
+    }
+
+    @Test
+    void testLoad_replaysRestoredTaskWithId() throws IOException {
+        taskList.addTodo("Buy milk", false);
+        taskList.addTodo("Read book", false);
+        taskList.addTodo("Walk dog", false);
+        storage.saveTasksToFile(taskList);
+        taskList.deleteTask(1);
+        List<TaskChange> changes = List.copyOf(taskList.getUnsavedChanges());
+        storage.saveChanges(taskList);
+        taskList.revert(changes);
+        storage.saveChanges(taskList);
+
+        TaskList loaded = new Storage(TEST_FILE_PATH).loadTasksFromFile();
+        assertEquals(taskList.listAllTasks(), loaded.listAllTasks());
+        assertEquals(2, loaded.getTask(1).getId());
+        assertEquals(4, loaded.getNextId());
+    }
+
+    @Test
+    void testLoad_intoCompactList() throws IOException {
+        taskList.addTodo("Buy milk", false);
+        taskList.addDeadline("Submit report", true, LocalDateTime.of(2025, 3, 10, 23, 59));
+        taskList.addEvent("Team meeting", false, LocalDateTime.of(2025, 3, 11, 12, 0),
+                LocalDateTime.of(2025, 3, 11, 14, 0));
+        storage.saveTasksToFile(taskList);
+        taskList.deleteTask(0);
+        taskList.markTask(1);
+        storage.saveChanges(taskList);
+
+        TaskList loaded = new Storage(TEST_FILE_PATH).loadTasksFromFile(TaskList.createCompact());
+        assertEquals(taskList.listAllTasks(), loaded.listAllTasks());
+        assertEquals(3, loaded.getTask(1).getId());
+        assertEquals(4, loaded.getNextId());
+
+        loaded.addTodo("Read book", false);
+        storage.saveTasksToFile(loaded);
+        assertEquals(loaded.listAllTasks(), new Storage(TEST_FILE_PATH).loadTasksFromFile().listAllTasks());
+    }
+
+    @Test
+    void testLoad_replaysJournalWithoutSave() throws IOException {
+        taskList.addTodo("Buy milk", false);
+        storage.saveChanges(taskList);
+        taskList.addTodo("Read book", false);
+        taskList.markTask(1);
+        storage.saveChanges(taskList);
+        taskList.deleteTask(0);
+        storage.saveChanges(taskList);
+
+        TaskList loaded = new Storage(TEST_FILE_PATH).loadTasksFromFile();
+        assertEquals("Here are the tasks in your list:\n1.[T][X] Read book", loaded.listAllTasks());
+    }
+
+    @Test
+    void testSave_clearsJournal() throws IOException {
+        taskList.addTodo("Buy milk", false);
+        storage.saveChanges(taskList);
+        assertTrue(Files.exists(Path.of(TEST_FILE_PATH + ".journal")));
+
+        storage.saveTasksToFile(taskList);
+        assertFalse(Files.exists(Path.of(TEST_FILE_PATH + ".journal")));
+        assertEquals(1, new Storage(TEST_FILE_PATH).loadTasksFromFile().size());
+    }
+
+    @Test
+    void testSaveChanges_leavesTaskFileAlone() throws IOException {
+        taskList.addTodo("Buy milk", false);
+        storage.saveTasksToFile(taskList);
+        byte[] snapshot = Files.readAllBytes(Path.of(TEST_FILE_PATH));
+
+        taskList.addTodo("Read book", false);
+        taskList.markTask(0);
+        storage.saveChanges(taskList);
+
+        assertTrue(taskList.getUnsavedChanges().isEmpty());
+        assertArrayEquals(snapshot, Files.readAllBytes(Path.of(TEST_FILE_PATH)));
+        assertEquals("Here are the tasks in your list:\n1.[T][X] Buy milk\n2.[T][ ] Read book",
+                new Storage(TEST_FILE_PATH).loadTasksFromFile().listAllTasks());
+    }
+
+    @Test
+    void testSaveChanges_afterFailedWriteSavesFullSnapshot() throws IOException {
+        taskList.addTodo("x", false);
+        taskList.addTodo("y", false);
+        storage.saveTasksToFile(taskList);
+
+        // A directory in the way of the journal makes appending to it fail
+        Path journalPath = Path.of(TEST_FILE_PATH + ".journal");
+        Files.createDirectory(journalPath);
+        taskList.deleteTask(0);
+        assertThrows(IOException.class, () -> storage.saveChanges(taskList));
+        Files.delete(journalPath);
+
+        taskList.markTask(0);
+        storage.saveChanges(taskList);
+        assertFalse(Files.exists(journalPath));
+        assertEquals("Here are the tasks in your list:\n1.[T][X] y",
+                new Storage(TEST_FILE_PATH).loadTasksFromFile().listAllTasks());
+    }
+
+    @Test
+    void testSaveChanges_retriesFailedWriteWithoutNewChanges() throws IOException {
+        taskList.addTodo("x", false);
+        storage.saveTasksToFile(taskList);
+
+        Path journalPath = Path.of(TEST_FILE_PATH + ".journal");
+        Files.createDirectory(journalPath);
+        taskList.addTodo("y", false);
+        assertThrows(IOException.class, () -> storage.saveChanges(taskList));
+        Files.delete(journalPath);
+
+        storage.saveChanges(taskList);
+        assertEquals(2, new Storage(TEST_FILE_PATH).loadTasksFromFile().size());
+    }
+
+    @Test
+    void testLoad_setsAsideJournalWithoutHeader() throws IOException {
+        Path journalPath = Path.of(TEST_FILE_PATH + ".journal");
+        Files.writeString(journalPath, "A | T | 0 | Buy milk\n");
+
+        TaskList loaded = storage.loadTasksFromFile();
+        assertEquals(0, loaded.size());
+        assertFalse(Files.exists(journalPath));
+        assertEquals("A | T | 0 | Buy milk\n", Files.readString(Path.of(TEST_FILE_PATH + ".journal.corrupt")));
+
+        loaded.addTodo("new task", false);
+        storage.saveChanges(loaded);
+        assertEquals("Here are the tasks in your list:\n1.[T][ ] new task",
+                new Storage(TEST_FILE_PATH).loadTasksFromFile().listAllTasks());
+    }
+
+    @Test
+    void testLoad_setsAsideJournalOfOtherVersion() throws IOException {
+        Path journalPath = Path.of(TEST_FILE_PATH + ".journal");
+        Files.write(journalPath, new byte[] {'C', 'O', 'W', 'J', 0, 99});
+
+        storage.loadTasksFromFile();
+        assertFalse(Files.exists(journalPath));
+        assertTrue(Files.exists(Path.of(TEST_FILE_PATH + ".journal.corrupt")));
+    }
+
+    @Test
+    void testJournal_compactsPastThreshold() throws IOException {
+        for (int i = 0; i < Storage.COMPACTION_THRESHOLD + 5; i++) {
+            taskList.addTodo("Task " + i, false);
+            storage.saveChanges(taskList);
+        }
+
+        assertFalse(Files.exists(Path.of(TEST_FILE_PATH + ".journal.old")));
+        assertFalse(Files.exists(Path.of(TEST_FILE_PATH + ".compacted")));
+        TaskList loaded = new Storage(TEST_FILE_PATH).loadTasksFromFile();
+        assertEquals(Storage.COMPACTION_THRESHOLD + 5, loaded.size());
+        assertEquals(taskList.listAllTasks(), loaded.listAllTasks());
+    }
+
+    @Test
+    void testJournal_failedCompactionKeepsRotatedJournal() throws IOException {
+        Path tempPath = Path.of(TEST_FILE_PATH + ".tmp");
+        for (int i = 0; i < Storage.COMPACTION_THRESHOLD - 1; i++) {
+            taskList.addTodo("Task " + i, false);
+            storage.saveChanges(taskList);
+        }
+
+        // A directory in the way of the temporary file makes the compacted snapshot fail after the rotation
+        Files.createDirectory(tempPath);
+        taskList.addTodo("Rotated", false);
+        assertThrows(IOException.class, () -> storage.saveChanges(taskList));
+        assertTrue(Files.exists(Path.of(TEST_FILE_PATH + ".journal.old")));
+        Files.delete(tempPath);
+
+        for (int i = 0; i < Storage.COMPACTION_THRESHOLD + 5; i++) {
+            taskList.addTodo("Later " + i, false);
+            storage.saveChanges(taskList);
+        }
+
+        assertFalse(Files.exists(Path.of(TEST_FILE_PATH + ".journal.old")));
+        TaskList loaded = new Storage(TEST_FILE_PATH).loadTasksFromFile();
+        assertEquals(taskList.listAllTasks(), loaded.listAllTasks());
+    }
+
+    @Test
+    void testLoad_readsTextFormat() throws IOException {
+        Files.writeString(Path.of(TEST_FILE_PATH), "T | 1 | Buy milk\nD | 0 | Submit report | 10/03/2025 23:59");
+
+        TaskList loaded = storage.loadTasksFromFile();
+        assertEquals(2, loaded.size());
+        storage.saveTasksToFile(loaded);
+
+        byte[] header = Arrays.copyOf(Files.readAllBytes(Path.of(TEST_FILE_PATH)), 4);
+        assertEquals("COWB", new String(header, StandardCharsets.US_ASCII));
+        assertEquals(loaded.listAllTasks(), new Storage(TEST_FILE_PATH).loadTasksFromFile().listAllTasks());
+    }
+
+    @Test
+    void testExportAndImport() throws IOException {
+        Path exportPath = Path.of(TEST_FILE_PATH + ".export");
+        taskList.addTodo("Buy milk", true);
+        taskList.addDeadline("Submit report", false, LocalDateTime.of(2025, 3, 10, 23, 59));
+        try {
+            storage.exportTasks(taskList, exportPath);
+            assertEquals(List.of("T | 1 | Buy milk", "D | 0 | Submit report | 10/03/2025 23:59"),
+                    Files.readAllLines(exportPath));
+
+            List<Task> imported = storage.importTasks(exportPath);
+            assertEquals(2, imported.size());
+            assertEquals(taskList.getTask(1).toString(), imported.get(1).toString());
+        } finally {
+            Files.deleteIfExists(exportPath);
+        }
+    }
 }
@@ -0,0 +1,154 @@
+package task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ColumnarTaskStoreTest {
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 3, 10, 9, 30);
+
+    @Test
+    void testInsertAndRemove_keepDoneFlagsWithTheirTasks() {
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        store.add(withId(new Todo("first", true), 1));
+        store.add(withId(new Todo("second", false), 2));
+        store.add(withId(new Todo("third", true), 3));
+
+        store.insert(1, withId(new Todo("inserted", false), 4));
+        assertEquals("[T][X] first", store.get(0).toString());
+        assertEquals("[T][ ] inserted", store.get(1).toString());
+        assertEquals("[T][ ] second", store.get(2).toString());
+        assertEquals("[T][X] third", store.get(3).toString());
+
+        assertEquals("[T][ ] first", store.setDone(0, false).toString());
+        store.remove(1);
+        assertFalse(store.isDone(0));
+        assertFalse(store.isDone(1));
+        assertTrue(store.isDone(2));
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void testGet_returnsCopy() {
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        store.add(withId(new Deadline("Submit report", false, DATE), 1));
+
+        Task task = store.get(0);
+        task.markDone();
+
+        assertEquals(DATE, ((Deadline) store.get(0)).getDeadline());
+        assertEquals(1, store.get(0).getId());
+        assertFalse(store.get(0).isDone());
+    }
+
+    @Test
+    void testIntern_sharesEqualDescriptions() {
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        for (int i = 1; i <= 100; i++) {
+            store.add(withId(new Todo(i % 2 == 0 ? "read book" : "caf\u00e9 \u2615", false), i));
+        }
+
+        assertEquals(2, store.getDescriptionCount());
+        assertEquals("caf\u00e9 \u2615", store.get(0).getDescription());
+        assertEquals(50, store.findContaining("caf\u00e9").size());
+        assertEquals(50, store.findContaining("book").size());
+    }
+
+    @Test
+    void testFindContaining_matchesLowerCasedDescriptions() {
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        store.add(withId(new Todo("Read BOOK", false), 1));
+        store.add(withId(new Todo("CAF\u00c9 visit", false), 2));
+        store.add(withId(new Todo("read book", false), 3));
+
+        assertEquals("[[T][ ] Read BOOK, [T][ ] read book]", store.findContaining("d boo").toString());
+        assertEquals("[[T][ ] CAF\u00c9 visit]", store.findContaining("caf\u00e9").toString());
+        assertEquals("Read BOOK", store.get(0).getDescription());
+        assertTrue(store.findContaining("Read").isEmpty());
+        assertEquals(3, store.findContaining("").size());
+    }
+
+    @Test
+    void testIndexOfId_idsOutOfOrder() {
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        store.add(withId(new Todo("first", false), 5));
+        store.add(withId(new Todo("second", false), 9));
+        store.insert(0, withId(new Todo("restored", false), 7));
+
+        assertEquals(0, store.indexOfId(7));
+        assertEquals(1, store.indexOfId(5));
+        assertEquals(2, store.indexOfId(9));
+        assertEquals(-1, store.indexOfId(6));
+        assertNull(store.getById(6));
+    }
+
+    @Test
+    void testGet_outOfRange() {
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.insert(1, withId(new Todo("task", false), 1)));
+    }
+
+    @Test
+    void testMatchesIndexedStore() {
+        ColumnarTaskStore store = new ColumnarTaskStore();
+        IndexedTaskStore expected = new IndexedTaskStore();
+        Random random = new Random(42);
+        long nextId = 1;
+        for (int i = 0; i < 5_000; i++) {
+            int operation = random.nextInt(4);
+            if (expected.size() == 0 || operation == 0) {
+                int index = random.nextInt(expected.size() + 1);
+                Task task = randomTask(random, nextId++);
+                expected.insert(index, task);
+                store.insert(index, task);
+            } else if (operation == 1) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index).toString(), store.remove(index).toString());
+            } else {
+                int index = random.nextInt(expected.size());
+                boolean isDone = random.nextBoolean();
+                assertEquals(expected.setDone(index, isDone).toString(), store.setDone(index, isDone).toString());
+            }
+        }
+
+        assertEquals(expected.size(), store.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Task task = expected.get(i);
+            assertEquals(task.toString(), store.get(i).toString());
+            assertEquals(i, store.indexOfId(task.getId()));
+        }
+        LocalDateTime from = DATE.plusDays(3);
+        LocalDateTime to = DATE.plusDays(9);
+        assertEquals(expected.findDueBefore(to).size(), store.findDueBefore(to).size());
+        assertEquals(expected.findWithin(from, to).size(), store.findWithin(from, to).size());
+        assertEquals(expected.findOverlapping(from, to).size(), store.findOverlapping(from, to).size());
+        assertEquals(expected.findContaining("task 1").toString(), store.findContaining("task 1").toString());
+    }
+
+    private static Task randomTask(Random random, long id) {
+        String description = "Task " + random.nextInt(50);
+        boolean isDone = random.nextBoolean();
+        LocalDateTime start = DATE.plusMinutes(random.nextInt(20_000));
+        switch (random.nextInt(3)) {
+        case 0:
+            return withId(new Deadline(description, isDone, start), id);
+        case 1:
+            return withId(new Event(description, isDone, start, start.plusMinutes(random.nextInt(5_000))), id);
+        default:
+            return withId(new Todo(description, isDone), id);
+        }
+    }
+
+    private static Task withId(Task task, long id) {
+        task.setId(id);
+        return task;
+    }
+}
@@ -0,0 +1,11 @@
+package task;
+
+/**
+ * Runs every test of {@link TaskListTest} against a compact task list.
+ */
+class CompactTaskListTest extends TaskListTest {
+    @Override
+    TaskList createTaskList() {
+        return TaskList.createCompact();
+    }
+}
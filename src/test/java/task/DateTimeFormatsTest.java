@@ -0,0 +1,40 @@
+package task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DateTimeFormatsTest {
+
+    @Test
+    void testFormatStorage_matchesFormatter() {
+        Random random = new Random(7);
+        for (int i = 0; i < 1000; i++) {
+            LocalDateTime dateTime = LocalDateTime.of(1 + random.nextInt(9999), 1 + random.nextInt(12),
+                    1 + random.nextInt(28), random.nextInt(24), random.nextInt(60));
+            String expected = dateTime.format(DateTimeFormats.STORAGE);
+
+            assertEquals(expected, DateTimeFormats.formatStorage(dateTime));
+            assertEquals(dateTime, DateTimeFormats.parseStorage(expected));
+        }
+    }
+
+    @Test
+    void testFormatStorage_yearOutsideFastPath() {
+        LocalDateTime dateTime = LocalDateTime.of(12345, 1, 2, 3, 4);
+        assertEquals(dateTime.format(DateTimeFormats.STORAGE), DateTimeFormats.formatStorage(dateTime));
+    }
+
+    @Test
+    void testParseStorage_rejectsOtherFormats() {
+        assertNull(DateTimeFormats.parseStorage("1/3/2025 09:30"));
+        assertNull(DateTimeFormats.parseStorage("10/03/2025 2359"));
+        assertNull(DateTimeFormats.parseStorage("31/02/2025 10:00"));
+        assertNull(DateTimeFormats.parseStorage("10/13/2025 10:00"));
+        assertNull(DateTimeFormats.parseStorage("1a/03/2025 10:00"));
+    }
+}
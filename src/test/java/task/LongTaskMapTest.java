@@ -0,0 +1,50 @@
+package task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongTaskMapTest {
+    @Test
+    void testPutGetRemove() {
+        LongTaskMap map = new LongTaskMap();
+        Task first = new Todo("first", false);
+        Task second = new Todo("second", false);
+        map.put(1, first);
+        map.put(2, second);
+
+        assertSame(first, map.get(1));
+        assertSame(second, map.remove(2));
+        assertNull(map.get(2));
+        assertNull(map.remove(2));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testMatchesHashMap() {
+        LongTaskMap map = new LongTaskMap();
+        Map<Long, Task> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                Task task = new Todo("task " + id, false);
+                map.put(id, task);
+                expected.put(id, task);
+            } else {
+                assertSame(expected.remove(id), map.remove(id));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long id = 1; id <= 2_000; id++) {
+            assertSame(expected.get(id), map.get(id));
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package task;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,7 +17,11 @@ class TaskListTest {
 
     @BeforeEach
     void setUp() {
-        taskList = new TaskList();
+        taskList = createTaskList();
+    }
+
+    TaskList createTaskList() {
+        return new TaskList();
     }
 
     @Test
@@ -53,6 +60,17 @@ class TaskListTest {
         assertEquals(expected, taskList.listAllTasks());
     }
 
+    @Test
+    void testListTasks_window() {
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTodo("Task " + i, false);
+        }
+
+        assertEquals("Here are tasks 3-4 of 5 in your list:\n3.[T][ ] Task 3\n4.[T][ ] Task 4",
+                taskList.listTasks(2, 2));
+        assertEquals("Here are tasks 5-5 of 5 in your list:\n5.[T][ ] Task 5", taskList.listTasks(4, 2));
+    }
+
     @Test
     void testDeleteTask() {
         taskList.addTodo("Buy milk", false);
@@ -73,6 +91,30 @@ class TaskListTest {
         assertTrue(response.contains("[T][X] Exercise"));
     }
 
+    @Test
+    void testDeleteTasks() {
+        for (int i = 1; i <= 6; i++) {
+            taskList.addTodo("Task " + i, false);
+        }
+
+        String response = taskList.deleteTasks(new int[] {0, 2, 3, 5});
+        assertEquals("Noted. I've removed these 4 tasks:\n[T][ ] Task 1\n[T][ ] Task 3\n[T][ ] Task 4\n"
+                + "[T][ ] Task 6\nNow you have 2 tasks in the list.", response);
+        assertEquals("Here are the tasks in your list:\n1.[T][ ] Task 2\n2.[T][ ] Task 5", taskList.listAllTasks());
+    }
+
+    @Test
+    void testMarkAndUnmarkTasks() {
+        taskList.addTodo("Exercise", false);
+        taskList.addTodo("Read", false);
+        taskList.addTodo("Cook", false);
+
+        assertEquals("Nice! I've marked these 2 tasks as done:\n[T][X] Exercise\n[T][X] Cook",
+                taskList.markTasks(new int[] {0, 2}));
+        assertEquals("OK, I've marked these 2 tasks as not done yet:\n[T][ ] Read\n[T][ ] Cook",
+                taskList.unmarkTasks(new int[] {1, 2}));
+    }
+
     @Test
     void testUnmarkTask() {
         taskList.addTodo("Exercise", false);
@@ -95,6 +137,87 @@ class TaskListTest {
         assertTrue(response.contains("2.[T][ ] Buy eggs"));
     }
 
+    @Test
+    void testFindTask_afterDelete() {
+        taskList.addTodo("Buy milk", false);
+        taskList.addTodo("Read book", false);
+        taskList.addTodo("Buy eggs", false);
+        taskList.deleteTask(0);
+
+        assertEquals("Here are the matching tasks:\n2.[T][ ] Buy eggs", taskList.findTask("BUY"));
+    }
+
+    @Test
+    void testFindTask_shortAndLongQueries() {
+        taskList.addTodo("Return library book", false);
+        taskList.addTodo("Book flight", false);
+        taskList.addTodo("Water plants", false);
+
+        assertEquals("Here are the matching tasks:\n1.[T][ ] Return library book\n2.[T][ ] Book flight",
+                taskList.findTask("book"));
+        assertEquals("Here are the matching tasks:\n1.[T][ ] Return library book",
+                taskList.findTask("y b"));
+        assertEquals("Here are the matching tasks:\n3.[T][ ] Water plants", taskList.findTask("wa"));
+        assertEquals("No matching tasks found.", taskList.findTask("library books"));
+    }
+
+    @Test
+    void testFindTask_repeatedTrigrams() {
+        taskList.addTodo("Bye bye bye", false);
+        taskList.addTodo("Byebye", false);
+
+        assertEquals("Here are the matching tasks:\n1.[T][ ] Bye bye bye", taskList.findTask("bye bye"));
+        assertEquals("Here are the matching tasks:\n1.[T][ ] Bye bye bye\n2.[T][ ] Byebye", taskList.findTask("bye"));
+        assertEquals("Here are the matching tasks:\n2.[T][ ] Byebye", taskList.findTask("ebye"));
+    }
+
+    @Test
+    void testFindTask_manyDeletes() {
+        for (int i = 0; i < 3000; i++) {
+            taskList.addTodo("Task number " + i, false);
+        }
+        for (int i = 0; i < 2500; i++) {
+            taskList.deleteTask(0);
+        }
+
+        assertEquals("Here are the matching tasks:\n1.[T][ ] Task number 2500", taskList.findTask("number 2500"));
+        assertEquals("No matching tasks found.", taskList.findTask("number 2499"));
+    }
+
+    @Test
+    void testFindDueBefore() {
+        taskList.addDeadline("Later report", false, LocalDateTime.of(2025, 3, 20, 9, 0));
+        taskList.addTodo("Read book", false);
+        taskList.addDeadline("Early report", false, LocalDateTime.of(2025, 3, 1, 9, 0));
+        taskList.addDeadline("Exact report", false, LocalDateTime.of(2025, 3, 10, 0, 0));
+
+        assertEquals("Here are the matching tasks:\n3.[D][ ] Early report (Deadline is: 2025-03-01 09:00)",
+                taskList.findDueBefore(LocalDateTime.of(2025, 3, 10, 0, 0)));
+    }
+
+    @Test
+    void testFindBetweenAndOverlapping() {
+        LocalDateTime monday = LocalDateTime.of(2025, 3, 10, 0, 0);
+        taskList.addEvent("Conference", false, monday.minusDays(1), monday.plusDays(1));
+        taskList.addEvent("Workshop", false, monday.plusHours(10), monday.plusHours(12));
+        taskList.addEvent("Retreat", false, monday.plusDays(3), monday.plusDays(4));
+        taskList.addDeadline("Report", false, monday.plusHours(9));
+        taskList.deleteTask(2);
+
+        String between = taskList.findBetween(monday, monday.plusHours(23));
+        assertEquals("Here are the matching tasks:\n"
+                + "3.[D][ ] Report (Deadline is: 2025-03-10 09:00)\n"
+                + "2.[E][ ] Workshop (from: 2025-03-10 10:00 to: 2025-03-10 12:00)", between);
+
+        String overlapping = taskList.findOverlapping(monday, monday.plusHours(23));
+        assertEquals("Here are the matching tasks:\n"
+                + "1.[E][ ] Conference (from: 2025-03-09 00:00 to: 2025-03-11 00:00)\n"
+                + "3.[D][ ] Report (Deadline is: 2025-03-10 09:00)\n"
+                + "2.[E][ ] Workshop (from: 2025-03-10 10:00 to: 2025-03-10 12:00)", overlapping);
+
+        assertEquals("No matching tasks found.", taskList.findOverlapping(monday.plusDays(5), monday.plusDays(6)));
+    }
+
     @Test
     void testFindTaskNoMatch() {
         taskList.addTodo("Buy milk", false);
@@ -114,4 +237,107 @@ class TaskListTest {
         taskList.addTodo("Read book", false);
         assertEquals(1, taskList.getAllTasks().size());
     }
+
+    @Test
+    void testUnsavedChanges_loggedUntilSaved() {
+        taskList.addTodo("Read book", false);
+        taskList.addTodo("Exercise", false);
+        taskList.markTask(1);
+        taskList.deleteTask(0);
+
+        List<TaskChange> changes = taskList.getUnsavedChanges();
+        assertEquals(4, changes.size());
+        assertEquals(TaskChange.Type.ADD, changes.get(1).getType());
+        assertEquals(1, changes.get(1).getIndex());
+        assertEquals(TaskChange.Type.MARK, changes.get(2).getType());
+        assertEquals(TaskChange.Type.DELETE, changes.get(3).getType());
+        assertEquals(0, changes.get(3).getIndex());
+
+        taskList.markSaved();
+        assertTrue(taskList.getUnsavedChanges().isEmpty());
+    }
+
+    @Test
+    void testGetPositionChangesSince() {
+        taskList.addTodo("Read book", false);
+        taskList.addTodo("Exercise", false);
+        taskList.addTodo("Cook", false);
+        long version = taskList.getVersion();
+        taskList.deleteTask(2);
+        taskList.addTodo("Sleep", false);
+        taskList.deleteTask(0);
+
+        assertEquals(version + 2, taskList.getVersion());
+        assertArrayEquals(new int[] {2, 0}, taskList.getPositionChangesSince(version));
+        assertEquals(0, taskList.getPositionChangesSince(taskList.getVersion()).length);
+    }
+
+    @Test
+    void testGetPositionChangesSince_tooOld() {
+        for (int i = 0; i < 300; i++) {
+            taskList.addTodo("Task " + i, false);
+            taskList.deleteTask(0);
+        }
+        assertNull(taskList.getPositionChangesSince(0));
+        assertEquals(256, taskList.getPositionChangesSince(44).length);
+    }
+
+    @Test
+    void testTaskIds_neverReused() {
+        taskList.addTodo("Read book", false);
+        taskList.addTodo("Exercise", false);
+        taskList.deleteTask(1);
+        taskList.addTodo("Cook", false);
+
+        assertEquals(1, taskList.getTask(0).getId());
+        assertEquals(3, taskList.getTask(1).getId());
+        assertNull(taskList.getTaskById(2));
+        assertEquals(1, taskList.indexOfId(3));
+        assertEquals(-1, taskList.indexOfId(2));
+        assertTrue(taskList.addTodo("Sleep", false).contains("[T][ ] Sleep (#4)"));
+    }
+
+    @Test
+    void testRevertAndReapply() {
+        taskList.addTodo("Read book", false);
+        taskList.addTodo("Exercise", false);
+        taskList.addTodo("Cook", false);
+        taskList.markTask(2);
+        taskList.markSaved();
+        long version = taskList.getVersion();
+        taskList.deleteTasks(new int[] {0, 1});
+        taskList.markTask(0);
+        List<TaskChange> changes = List.copyOf(taskList.getUnsavedChanges());
+        assertEquals(2, changes.size());
+
+        taskList.revert(changes);
+        assertEquals("Here are the tasks in your list:\n1.[T][ ] Read book\n2.[T][ ] Exercise\n3.[T][X] Cook",
+                taskList.listAllTasks());
+        assertEquals(2, taskList.getTask(1).getId());
+        assertEquals(4, taskList.getNextId());
+        assertArrayEquals(new int[] {1, 0, ~0, ~1}, taskList.getPositionChangesSince(version));
+
+        taskList.reapply(changes);
+        assertEquals("Here are the tasks in your list:\n1.[T][X] Cook", taskList.listAllTasks());
+    }
+
+    @Test
+    void testMarkTask_unchangedNotLogged() {
+        taskList.addTodo("Read book", true);
+        taskList.markSaved();
+        taskList.markTask(0);
+        assertTrue(taskList.getUnsavedChanges().isEmpty());
+    }
+
+    @Test
+    void testInsertTask_newIdIfTaken() {
+        taskList.addTodo("Read book", false);
+        Task copy = new Todo("Read book again", false);
+        copy.setId(1);
+        taskList.insertTask(0, copy);
+
+        assertEquals(2, copy.getId());
+        assertEquals(TaskChange.Type.INSERT, taskList.getUnsavedChanges().get(1).getType());
+        assertEquals(1, taskList.indexOfId(1));
+    }
 }
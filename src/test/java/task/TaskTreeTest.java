@@ -0,0 +1,72 @@
+package task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TaskTreeTest {
+
+    @Test
+    void testRandomOperations_matchArrayList() {
+        TaskTree tree = new TaskTree();
+        List<Task> expected = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 5000; step++) {
+            int operation = random.nextInt(3);
+            if (operation == 0 || expected.isEmpty()) {
+                Todo todo = new Todo("Task " + step, false);
+                int index = random.nextInt(expected.size() + 1);
+                tree.insert(index, todo);
+                expected.add(index, todo);
+            } else if (operation == 1) {
+                int index = random.nextInt(expected.size());
+                assertSame(expected.remove(index), tree.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertSame(expected.get(index), tree.get(index));
+                assertEquals(index, tree.indexOf(expected.get(index)));
+            }
+            assertEquals(expected.size(), tree.size());
+        }
+
+        int i = 0;
+        for (Task task : tree) {
+            assertSame(expected.get(i++), task);
+        }
+        assertEquals(expected.size(), i);
+    }
+
+    @Test
+    void testIterator_fromIndex() {
+        TaskTree tree = new TaskTree();
+        for (int i = 0; i < 10; i++) {
+            tree.add(new Todo("Task " + i, false));
+        }
+
+        Iterator<Task> iterator = tree.iterator(7);
+        assertEquals("[T][ ] Task 7", iterator.next().toString());
+        assertEquals("[T][ ] Task 8", iterator.next().toString());
+        assertEquals("[T][ ] Task 9", iterator.next().toString());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void testIndexOf_removedTask() {
+        TaskTree tree = new TaskTree();
+        Todo todo = new Todo("Read book", false);
+        tree.add(todo);
+        tree.remove(0);
+
+        assertEquals(-1, tree.indexOf(todo));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(0));
+    }
+}
@@ -3,6 +3,7 @@ package task;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +24,12 @@ class TodoTest {
         assertFalse(todo.isDone());
     }
 
+    @Test
+    void testGetSearchKey() {
+        assertEquals("read a book", todo.getSearchKey());
+        assertSame(todo.getSearchKey(), todo.getSearchKey());
+    }
+
     @Test
     void testMarkDone() {
         todo.markDone();
@@ -0,0 +1,80 @@
+package tools;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import parser.Parser;
+import storage.Storage;
+import task.Deadline;
+import task.Task;
+import task.TaskList;
+
+class TaskGeneratorTest {
+    private static final String TEST_FILE_PATH = "test_generated_tasks.txt";
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".journal"));
+        Files.deleteIfExists(Path.of(TEST_FILE_PATH + ".bak"));
+    }
+
+    @Test
+    void testSameSeed_sameOutput() {
+        assertArrayEquals(new TaskGenerator(7).storageLines(100), new TaskGenerator(7).storageLines(100));
+        assertArrayEquals(new TaskGenerator(7).commands(100, 50), new TaskGenerator(7).commands(100, 50));
+    }
+
+    @Test
+    void testSettings_followed() {
+        TaskGenerator generator = new TaskGenerator(7, new double[] {0, 1, 0}, 1, 1, 1);
+        for (String line : generator.storageLines(100)) {
+            Task task = Parser.parseTaskFromLine(line);
+            assertInstanceOf(Deadline.class, task);
+            assertTrue(task.isDone());
+            assertFalse(task.getDescription().contains(" "));
+            assertEquals(2025, ((Deadline) task).getDeadline().getYear());
+            assertEquals(1, ((Deadline) task).getDeadline().getDayOfYear());
+        }
+    }
+
+    @Test
+    void testSettings_outOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskGenerator(7, new double[] {0, 0, 0}, 2, 0.5, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TaskGenerator(7, new double[] {1, 1}, 2, 0.5, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TaskGenerator(7, new double[] {1, 1, 1}, 0, 0.5, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TaskGenerator(7, new double[] {1, 1, 1}, 2, 1.5, 1));
+    }
+
+    @Test
+    void testCommands_parse() {
+        for (String command : new TaskGenerator(7).commands(500, 100)) {
+            assertNotEquals("incorrect", new Parser().parseCommand(command).getType(), command);
+        }
+    }
+
+    @Test
+    void testTaskFileGenerator_writesLoadableFile() {
+        assertEquals(0, TaskFileGenerator.run(new String[] {"--generate", TEST_FILE_PATH, "--tasks", "500"}, 1));
+        TaskList binary = new Storage(TEST_FILE_PATH).loadTasksFromFile();
+        assertEquals(0, TaskFileGenerator.run(
+                new String[] {"--generate", TEST_FILE_PATH, "--tasks", "500", "--text"}, 1));
+        TaskList text = new Storage(TEST_FILE_PATH).loadTasksFromFile();
+
+        assertEquals(500, binary.size());
+        assertEquals(binary.listAllTasks(), text.listAllTasks());
+        assertEquals(1, TaskFileGenerator.run(new String[] {"--generate", TEST_FILE_PATH, "--tasks"}, 1));
+    }
+}